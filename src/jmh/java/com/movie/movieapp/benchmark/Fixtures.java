@@ -0,0 +1,60 @@
+package com.movie.movieapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.MovieType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+/** Sample data shared by the benchmarks, shaped like real OMDb responses. */
+final class Fixtures {
+
+    static final String SECRET = "VGhpc0lzQVNlY3JldEtleVdpdGhBdExlYXN0MzJiYnl0ZXMhISEhISEhISEhIQ==";
+
+    static final byte[] OMDB_MOVIE_JSON = """
+            {"Title":"Heat","Year":"1995","Rated":"R","Released":"15 Dec 1995","Runtime":"170 min",
+             "Genre":"Action, Crime, Drama","Director":"Michael Mann","Writer":"Michael Mann",
+             "Actors":"Al Pacino, Robert De Niro, Val Kilmer",
+             "Plot":"A group of high-end professional thieves start to feel the heat from the LAPD when they unknowingly leave a clue at their latest heist.",
+             "Language":"English, Spanish","Country":"United States","Awards":"14 nominations",
+             "Poster":"https://m.media-amazon.com/images/M/MV5BYjZjNTJlZGUtZTE1Ny00ZDc4LTgwYjUtMzk0NDgwYzZjYTk1XkEyXkFqcGdeQXVyNzkwMjQ5NzM@._V1_SX300.jpg",
+             "Ratings":[{"Source":"Internet Movie Database","Value":"8.3/10"},{"Source":"Rotten Tomatoes","Value":"88%"}],
+             "Metascore":"76","imdbRating":"8.3","imdbVotes":"722,000","imdbID":"tt0113277","Type":"movie",
+             "DVD":"N/A","BoxOffice":"$67,436,818","Production":"N/A","Website":"N/A","Response":"True"}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private Fixtures() {
+    }
+
+    /** Configured like Spring Boot's auto-configured mapper. */
+    static ObjectMapper objectMapper() {
+        return new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static OmdbMovieDTO omdbMovie(int i) {
+        return new OmdbMovieDTO("Heat " + i, "1995", "tt" + (113277 + i), "movie",
+                "https://m.media-amazon.com/images/M/MV5BYjZjNTJlZGUtZTE1Ny00ZDc4._V1_SX300.jpg",
+                "A group of high-end professional thieves start to feel the heat from the LAPD.",
+                "Action, Crime, Drama", "170 min", "Michael Mann", "Al Pacino, Robert De Niro, Val Kilmer",
+                "English, Spanish", "United States", "14 nominations", "R", "15 Dec 1995", "True", null);
+    }
+
+    static Movie movie(int i) {
+        Movie movie = new Movie();
+        movie.setId((long) i);
+        movie.setImdbId("tt" + (113277 + i));
+        movie.setTitle("Heat " + i);
+        movie.setYear("1995");
+        movie.setType(MovieType.MOVIE);
+        movie.setPoster("https://m.media-amazon.com/images/M/MV5BYjZjNTJlZGUtZTE1Ny00ZDc4._V1_SX300.jpg");
+        movie.setPlot("A group of high-end professional thieves start to feel the heat from the LAPD.");
+        movie.setGenre("Action, Crime, Drama");
+        movie.setDirector("Michael Mann");
+        return movie;
+    }
+}
@@ -0,0 +1,75 @@
+package com.movie.movieapp.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.response.AppResponse;
+import com.movie.movieapp.common.response.PageResponse;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.model.MovieMapperImpl;
+import com.movie.movieapp.omdb.OmdbResponseParser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Reading an OMDb detail response (databind vs the streaming {@link OmdbResponseParser}) and writing the
+ * API envelope for a movie page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectReader omdbReader;
+    private OmdbResponseParser parser;
+    private OmdbMovieDTO omdbMovie;
+    private AppResponse<PageResponse<MovieSummaryDTO>> pageResponse;
+
+    @Setup
+    public void setup() {
+        objectMapper = Fixtures.objectMapper();
+        omdbReader = objectMapper.readerFor(OmdbMovieDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        parser = new OmdbResponseParser(objectMapper);
+        omdbMovie = Fixtures.omdbMovie(1);
+
+        MovieMapper mapper = new MovieMapperImpl();
+        PageImpl<MovieSummaryDTO> page = new PageImpl<>(
+                IntStream.range(0, 20).mapToObj(i -> mapper.toSummary(Fixtures.movie(i))).toList(),
+                PageRequest.of(0, 20), 10_000);
+        pageResponse = new AppResponse<>(true, "Movies fetched", PageResponse.of(page), "/movies", Instant.now(), null);
+    }
+
+    @Benchmark
+    public OmdbMovieDTO readOmdbMovieDatabind() throws IOException {
+        return omdbReader.readValue(Fixtures.OMDB_MOVIE_JSON);
+    }
+
+    @Benchmark
+    public OmdbMovieDTO readOmdbMovieStreaming() throws IOException {
+        return parser.parseMovie(new ByteArrayInputStream(Fixtures.OMDB_MOVIE_JSON));
+    }
+
+    @Benchmark
+    public byte[] writeOmdbMovie() throws IOException {
+        return objectMapper.writeValueAsBytes(omdbMovie);
+    }
+
+    @Benchmark
+    public byte[] writeMoviePageResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+}
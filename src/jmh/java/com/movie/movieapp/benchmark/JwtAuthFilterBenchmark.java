@@ -0,0 +1,65 @@
+package com.movie.movieapp.benchmark;
+
+import com.movie.movieapp.auth.jwt.JwtAuthFilter;
+import com.movie.movieapp.auth.jwt.JwtService;
+import com.movie.movieapp.auth.jwt.PrincipalCache;
+import com.movie.movieapp.auth.jwt.TokenRevocationList;
+import com.movie.movieapp.auth.model.Role;
+import com.movie.movieapp.entity.MovieUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through the filter with the next filters stubbed out: token verification,
+ * revocation check and principal lookup (claims mode, so no repository is involved).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthFilterBenchmark {
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        JwtService jwtService = new JwtService(Fixtures.SECRET, 900, 3600, 10_000);
+        PrincipalCache principals = new PrincipalCache(null, "claims", Duration.ofMinutes(5), 10_000);
+        TokenRevocationList revocations = new TokenRevocationList(null, 900, 100_000);
+        filter = new JwtAuthFilter(jwtService, principals, revocations, new SimpleMeterRegistry());
+
+        MovieUser user = new MovieUser();
+        user.setId(42L);
+        user.setEmail("haneen@gmail.com");
+        user.setRole(Role.USER);
+        String token = jwtService.generateToken(Map.of("userId", 42L, "role", "USER"), user);
+
+        request = new MockHttpServletRequest("GET", "/movies");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Benchmark
+    public void authenticatedRequest() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.movie.movieapp.benchmark;
+
+import com.movie.movieapp.auth.jwt.JwtService;
+import com.movie.movieapp.auth.jwt.TokenClaims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Token issue and verification, with the verified-token cache and without it (every call parses). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService cached;
+    private JwtService uncached;
+    private UserDetails user;
+    private Map<String, Object> claims;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        cached = new JwtService(Fixtures.SECRET, 900, 3600, 10_000);
+        uncached = new JwtService(Fixtures.SECRET, 900, 3600, 0);
+        user = User.withUsername("haneen@gmail.com").password("x").authorities(List.of()).build();
+        claims = Map.of("userId", 42L, "role", "USER");
+        accessToken = cached.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return cached.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public TokenClaims verifyCached() {
+        return cached.verify(accessToken);
+    }
+
+    @Benchmark
+    public TokenClaims verifyParsed() {
+        return uncached.verify(accessToken);
+    }
+}
@@ -0,0 +1,61 @@
+package com.movie.movieapp.benchmark;
+
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.response.PageResponse;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.model.MovieMapperImpl;
+import com.movie.movieapp.model.MovieType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/** MapStruct mapping, page assembly for a default-size listing, and OMDb type parsing. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private final MovieMapper mapper = new MovieMapperImpl();
+    private OmdbMovieDTO omdbMovie;
+    private Movie movie;
+    private PageImpl<Movie> page;
+    private final String[] omdbTypes = {"movie", "series", "episode", "Series", "game", null};
+    private int next;
+
+    @Setup
+    public void setup() {
+        omdbMovie = Fixtures.omdbMovie(1);
+        movie = Fixtures.movie(1);
+        List<Movie> movies = IntStream.range(0, 20).mapToObj(Fixtures::movie).toList();
+        page = new PageImpl<>(movies, PageRequest.of(2, 20), 10_000);
+    }
+
+    @Benchmark
+    public Movie toEntity() {
+        return mapper.toEntity(omdbMovie);
+    }
+
+    @Benchmark
+    public MovieSummaryDTO toSummary() {
+        return mapper.toSummary(movie);
+    }
+
+    @Benchmark
+    public PageResponse<MovieSummaryDTO> pageResponseOf() {
+        return PageResponse.of(page, mapper::toSummary);
+    }
+
+    @Benchmark
+    public MovieType movieTypeFromOmdb() {
+        return MovieType.fromOmdb(omdbTypes[next++ % omdbTypes.length]);
+    }
+}
@@ -0,0 +1,8 @@
+package com.movie.movieapp.auth.common.DTO;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RevokeSessionsRequestDTO(@NotEmpty @Size(max = 1000) List<Long> userIds) {}
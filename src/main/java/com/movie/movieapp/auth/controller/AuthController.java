@@ -3,11 +3,13 @@ package com.movie.movieapp.auth.controller;
 import com.movie.movieapp.auth.common.DTO.AuthResponseDTO;
 import com.movie.movieapp.auth.common.DTO.LoginRequestDTO;
 import com.movie.movieapp.auth.common.DTO.RefreshTokenRequestDTO;
+import com.movie.movieapp.auth.common.DTO.RevokeSessionsRequestDTO;
 import com.movie.movieapp.auth.service.AuthService;
 import com.movie.movieapp.common.response.AppResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,4 +41,12 @@ public class AuthController {
         authService.logout();
         return AppResponse.ok("Logged out Successfully");
     }
+
+    @PostMapping("${movies.auth.revoke-sessions-uri}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Log the given users out everywhere; returns the number of refresh tokens revoked")
+    public AppResponse<Integer> revokeSessions(@Valid @RequestBody RevokeSessionsRequestDTO request) {
+        return AppResponse.ok("Sessions revoked", authService.revokeAllSessions(request.userIds()));
+    }
 }
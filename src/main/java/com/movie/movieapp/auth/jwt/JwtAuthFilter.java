@@ -1,12 +1,12 @@
 package com.movie.movieapp.auth.jwt;
 
 import com.movie.movieapp.entity.MovieUser;
-import com.movie.movieapp.repository.MovieUserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,14 +15,26 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final MovieUserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtAuthFilter(JwtService jwtService, PrincipalCache principalCache,
+                         TokenRevocationList revocationList, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.principalCache = principalCache;
+        this.revocationList = revocationList;
+        this.verifiedTimer = verifyTimer(meterRegistry, "verified");
+        this.rejectedTimer = verifyTimer(meterRegistry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -35,27 +47,35 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String jwt = header.substring(7).trim();
-        String email;
+        TokenClaims claims;
+        long start = System.nanoTime();
         try {
-            String tokenType = jwtService.extractTokenType(jwt);
-            if (!"ACCESS".equals(tokenType)) {
-                log.warn("Rejected non-ACCESS token on path={}", request.getRequestURI());
-                chain.doFilter(request, response);
-                return;
-            }
-            email = jwtService.extractUsername(jwt);
+            claims = jwtService.verify(jwt);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         } catch (Exception e) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!"ACCESS".equals(claims.tokenType())) {
+            log.warn("Rejected non-ACCESS token on path={}", request.getRequestURI());
+            chain.doFilter(request, response);
+            return;
+        }
+        if (revocationList.isRevoked(claims)) {
+            log.debug("Rejected revoked token on path={}", request.getRequestURI());
             chain.doFilter(request, response);
             return;
         }
 
+        String email = claims.subject();
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            MovieUser movieUser = userRepository.findByEmail(email);
+            MovieUser movieUser = principalCache.resolve(claims);
             if (movieUser == null) {
                 chain.doFilter(request, response);
                 return;
             }
-            if (jwtService.isTokenValid(jwt, movieUser)) {
+            if (jwtService.isTokenValid(claims, movieUser)) {
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(movieUser, null, movieUser.getAuthorities());
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -66,9 +86,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         chain.doFilter(request, response);
     }
 
+    /** Token parse and signature check, including verified-token cache hits. */
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Access token verification in the auth filter")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String p = request.getRequestURI();
-        return p.startsWith("/v3/api-docs") || p.startsWith("/swagger-ui") || p.startsWith("/public/");
+        return p.startsWith("/v3/api-docs") || p.startsWith("/swagger-ui") || p.startsWith("/public/") || p.startsWith("/actuator/health");
     }
 }
@@ -1,5 +1,8 @@
 package com.movie.movieapp.auth.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -10,9 +13,18 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
+/**
+ * Issues and verifies HS256 tokens. Verification uses one shared parser, and verified access tokens
+ * are cached (bounded, each entry dropped when its token expires), so a token presented on every
+ * request is only signature-checked once. Entries are keyed by the token's SHA-256 digest, so keys
+ * are 64 characters whatever the token's length and raw bearer tokens are not kept in memory. The
+ * digest has to be collision resistant because a hit skips the signature check: a token that differs
+ * in any character, such as a forged payload reusing a valid signature, is a miss and gets verified.
+ */
 @Service
 @Slf4j
 public class JwtService {
@@ -24,15 +36,42 @@ public class JwtService {
     private final Key key;
     private final long accessExpSeconds;
     private final long refreshExpSeconds;
+    private final JwtParser parser;
+    /** Claims by {@link TokenDigest#sha256} of the token; null when disabled ({@code jwt.cache.max-entries: 0}). */
+    private final Cache<String, TokenClaims> verified;
 
     public JwtService(
             @Value("${jwt.secret}") String base64Secret,
             @Value("${jwt.access-exp-seconds}") long accessExpSeconds,
-            @Value("${jwt.refresh-exp-seconds}") long refreshExpSeconds
+            @Value("${jwt.refresh-exp-seconds}") long refreshExpSeconds,
+            @Value("${jwt.cache.max-entries:10000}") long cacheMaxEntries
     ) {
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
         this.accessExpSeconds = accessExpSeconds;
         this.refreshExpSeconds = refreshExpSeconds;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(30)
+                .build();
+        this.verified = cacheMaxEntries <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, TokenClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails user) {
@@ -43,6 +82,7 @@ public class JwtService {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(user.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(accessExpSeconds)))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -61,29 +101,55 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its claims; later calls with the same access token are
+     * served from the cache until it expires.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public TokenClaims verify(String token) {
+        if (verified == null) {
+            return TokenClaims.of(parser.parseClaimsJws(token).getBody(), CLAIM_TOKEN_TYPE);
+        }
+        String digest = TokenDigest.sha256(token);
+        TokenClaims claims = verified.getIfPresent(digest);
+        if (claims != null && !claims.isExpired(Instant.now())) return claims;
+
+        claims = TokenClaims.of(parser.parseClaimsJws(token).getBody(), CLAIM_TOKEN_TYPE);
+        if (TYPE_ACCESS.equals(claims.tokenType()) && claims.expiresAt() != null) {
+            verified.put(digest, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return parseAll(token).getSubject();
+        return verify(token).subject();
     }
 
     public Date extractExpiration(String token) {
-        return parseAll(token).getExpiration();
+        return Date.from(verify(token).expiresAt());
     }
 
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token).isExpired(Instant.now());
     }
 
     public boolean isTokenValid(String token, UserDetails user) {
         try {
-            return extractUsername(token).equals(user.getUsername()) && !isTokenExpired(token);
+            return isTokenValid(verify(token), user);
         } catch (JwtException e) {
             log.warn("Token parsing failed: {}", e.getClass().getSimpleName());
             return false;
         }
     }
 
+    public boolean isTokenValid(TokenClaims claims, UserDetails user) {
+        return claims.subject() != null && claims.subject().equals(user.getUsername())
+                && !claims.isExpired(Instant.now());
+    }
+
     public String extractTokenType(String token) {
-        return parseAll(token).get(CLAIM_TOKEN_TYPE, String.class);
+        return verify(token).tokenType();
     }
 
     public String extractUsernameStrict(String token) {
@@ -97,13 +163,4 @@ public class JwtService {
             throw new BadCredentialsException("Invalid token");
         }
     }
-
-    private Claims parseAll(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(30)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
 }
@@ -0,0 +1,70 @@
+package com.movie.movieapp.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.movie.movieapp.auth.model.Role;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.repository.MovieUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Resolves the user behind a verified access token without a database lookup per request.
+ * In {@code cache} mode users are loaded by email once and kept for the TTL (bounded, evicted on
+ * logout or role change through {@link #evict}). In {@code claims} mode the principal is built from
+ * the token's {@code userId} and {@code role} claims alone, so a role change only applies once the
+ * user's current access token expires.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    public enum Mode { CACHE, CLAIMS }
+
+    private final MovieUserRepository userRepository;
+    private final Mode mode;
+    private final Cache<String, MovieUser> users;
+
+    public PrincipalCache(
+            MovieUserRepository userRepository,
+            @Value("${jwt.principal.mode:cache}") String mode,
+            @Value("${jwt.principal.ttl:5m}") Duration ttl,
+            @Value("${jwt.principal.max-entries:10000}") long maxEntries
+    ) {
+        this.userRepository = userRepository;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.users = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxEntries))
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** The user the token was issued to, or {@code null} if it no longer exists. */
+    public MovieUser resolve(TokenClaims claims) {
+        if (mode == Mode.CLAIMS && claims.userId() != null && claims.role() != null) {
+            return fromClaims(claims);
+        }
+        return users.get(claims.subject(), userRepository::findByEmail); // a missing user is not cached
+    }
+
+    /** Drops the cached user so the next request reloads it, e.g. after logout or a role change. */
+    public void evict(String email) {
+        if (email != null) users.invalidate(email);
+    }
+
+    private static MovieUser fromClaims(TokenClaims claims) {
+        MovieUser user = new MovieUser();
+        user.setId(claims.userId());
+        user.setEmail(claims.subject());
+        try {
+            user.setRole(Role.valueOf(claims.role()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown role claim {} for subject={}", claims.role(), claims.subject());
+            return null;
+        }
+        return user;
+    }
+}
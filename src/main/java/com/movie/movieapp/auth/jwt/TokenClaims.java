@@ -0,0 +1,34 @@
+package com.movie.movieapp.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * The claims of a verified token, read once and reused for every check of the request.
+ * {@code userId} and {@code role} are only present on access tokens.
+ */
+public record TokenClaims(String subject, String tokenType, String id, Long userId, String role,
+                          Instant issuedAt, Instant expiresAt) {
+
+    static TokenClaims of(Claims claims, String tokenTypeClaim) {
+        Number userId = claims.get("userId", Number.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.get(tokenTypeClaim, String.class),
+                claims.getId(),
+                userId == null ? null : userId.longValue(),
+                claims.get("role", String.class),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
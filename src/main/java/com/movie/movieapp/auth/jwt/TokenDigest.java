@@ -0,0 +1,23 @@
+package com.movie.movieapp.auth.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Fixed-length digest under which stored tokens are looked up, so the raw token is never persisted. */
+public final class TokenDigest {
+
+    private TokenDigest() {
+    }
+
+    /** Lowercase hex SHA-256 of the token, 64 characters. */
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.movie.movieapp.auth.jwt;
+
+import com.movie.movieapp.auth.model.TokenRevocation;
+import com.movie.movieapp.auth.repository.TokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens, checked on every request without I/O. A token is revoked when its jti was
+ * revoked, or when its user revoked all tokens issued before a point in time (logout). Both kinds of
+ * key go into a bloom filter, so the usual not-revoked answer is a few bit reads; a hit is confirmed
+ * against the exact maps. Revocations are stored so they survive restarts and reach other instances
+ * on the next {@link #sync}, which also forgets the ones whose tokens have all expired.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenRevocationRepository revocationRepository;
+    private final long accessExpSeconds;
+    private final int expectedEntries;
+    private final Clock clock;
+
+    private final Map<String, Instant> revokedJtis = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @Autowired
+    public TokenRevocationList(
+            TokenRevocationRepository revocationRepository,
+            @Value("${jwt.access-exp-seconds}") long accessExpSeconds,
+            @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries
+    ) {
+        this(revocationRepository, accessExpSeconds, expectedEntries, Clock.systemUTC());
+    }
+
+    TokenRevocationList(TokenRevocationRepository revocationRepository, long accessExpSeconds,
+                        int expectedEntries, Clock clock) {
+        this.revocationRepository = revocationRepository;
+        this.accessExpSeconds = accessExpSeconds;
+        this.expectedEntries = expectedEntries;
+        this.clock = clock;
+        this.bloom = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        BloomFilter filter = bloom;
+        if (claims.id() != null && filter.mightContain(jtiKey(claims.id()))
+                && revokedJtis.containsKey(claims.id())) {
+            return true;
+        }
+        if (claims.userId() != null && claims.issuedAt() != null && filter.mightContain(userKey(claims.userId()))) {
+            Instant before = revokedBefore.get(claims.userId());
+            return before != null && claims.issuedAt().isBefore(before);
+        }
+        return false;
+    }
+
+    /** Revokes one token until it expires. */
+    public void revokeToken(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) return;
+        revocationRepository.save(TokenRevocation.builder()
+                .jti(jti)
+                .revokedAt(clock.instant())
+                .expiresAt(expiresAt)
+                .build());
+        addToken(jti, expiresAt);
+    }
+
+    /**
+     * Revokes every token of the user issued before now. Token issue times have second precision, so
+     * the cut-off is the current second: a new login right after logout keeps working, and only tokens
+     * issued within the same second as the logout survive (revoke those by jti).
+     */
+    public void revokeUser(Long userId) {
+        if (userId == null) return;
+        Instant now = clock.instant();
+        Instant before = now.truncatedTo(ChronoUnit.SECONDS);
+        revocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .revokedBefore(before)
+                .revokedAt(now)
+                .expiresAt(before.plusSeconds(accessExpSeconds))
+                .build());
+        addUser(userId, before);
+    }
+
+    /** {@link #revokeUser} for many users, stored in one batch. */
+    public void revokeUsers(Collection<Long> userIds) {
+        Instant now = clock.instant();
+        Instant before = now.truncatedTo(ChronoUnit.SECONDS);
+        List<TokenRevocation> rows = userIds.stream()
+                .filter(Objects::nonNull)
+                .map(userId -> TokenRevocation.builder()
+                        .userId(userId)
+                        .revokedBefore(before)
+                        .revokedAt(now)
+                        .expiresAt(before.plusSeconds(accessExpSeconds))
+                        .build())
+                .toList();
+        revocationRepository.saveAll(rows);
+        rows.forEach(r -> addUser(r.getUserId(), before));
+    }
+
+    /** Loads every revocation still in force. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        Instant now = clock.instant();
+        List<TokenRevocation> active = revocationRepository.findActiveSince(Instant.EPOCH, now);
+        active.forEach(this::add);
+        lastSync = now;
+        log.info("Token revocation list warmed with {} jtis and {} users", revokedJtis.size(), revokedBefore.size());
+    }
+
+    /** Picks up revocations made by other instances and forgets the expired ones. */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT30S}",
+            initialDelayString = "${jwt.revocation.sync-interval:PT30S}")
+    public void sync() {
+        Instant now = clock.instant();
+        // overlap a little so rows committed just before the previous sync are not missed
+        revocationRepository.findActiveSince(lastSync.minusSeconds(5), now).forEach(this::add);
+        lastSync = now;
+        prune(now);
+        int deleted = revocationRepository.deleteExpired(now);
+        if (deleted > 0) log.debug("Deleted {} expired token revocations", deleted);
+    }
+
+    public int size() {
+        return revokedJtis.size() + revokedBefore.size();
+    }
+
+    private void add(TokenRevocation r) {
+        if (r.getJti() != null) addToken(r.getJti(), r.getExpiresAt());
+        if (r.getUserId() != null && r.getRevokedBefore() != null) addUser(r.getUserId(), r.getRevokedBefore());
+    }
+
+    private synchronized void addToken(String jti, Instant expiresAt) {
+        revokedJtis.put(jti, expiresAt);
+        bloom.add(jtiKey(jti));
+    }
+
+    private synchronized void addUser(Long userId, Instant before) {
+        revokedBefore.merge(userId, before, (a, b) -> a.isAfter(b) ? a : b);
+        bloom.add(userKey(userId));
+    }
+
+    /** Drops expired entries and rebuilds the bloom filter from what is left. */
+    private synchronized void prune(Instant now) {
+        boolean removed = revokedJtis.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        Instant oldestLive = now.minusSeconds(accessExpSeconds);
+        removed |= revokedBefore.values().removeIf(before -> !before.isAfter(oldestLive));
+        if (!removed) return;
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size() * 2), FALSE_POSITIVE_RATE);
+        revokedJtis.keySet().forEach(jti -> rebuilt.add(jtiKey(jti)));
+        revokedBefore.keySet().forEach(userId -> rebuilt.add(userKey(userId)));
+        bloom = rebuilt;
+    }
+
+    private static String jtiKey(String jti) {
+        return "j:" + jti;
+    }
+
+    private static String userKey(Long userId) {
+        return "u:" + userId;
+    }
+}
@@ -8,6 +8,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.util.Date;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_jwt_token_user_valid", columnList = "user_id, is_revoked, is_expired"),
+        @Index(name = "idx_jwt_token_expired_at", columnList = "expired_at")})
 @Setter
 @Getter
 @Builder
@@ -16,10 +19,12 @@ import java.util.Date;
 public class JwtToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jwt_token_seq")
+    @SequenceGenerator(name = "jwt_token_seq", sequenceName = "jwt_token_seq", allocationSize = 50)
     private Long id;
-    @Column(nullable = false,unique = true)
-    private String token;
+    /** SHA-256 of the token (see {@code TokenDigest}); the token itself is not stored. */
+    @Column(name = "token_hash", length = 64, unique = true)
+    private String tokenHash;
 
     @Enumerated(EnumType.STRING)
     private TokenType tokenType;
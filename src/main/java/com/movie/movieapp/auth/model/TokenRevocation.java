@@ -0,0 +1,42 @@
+package com.movie.movieapp.auth.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token ({@code jti} set) or every token of a user issued before
+ * {@code revokedBefore} ({@code userId} set). Kept until {@code expiresAt}, after which none of the
+ * tokens it covers can still be valid.
+ */
+@Entity
+@Table(name = "token_revocation", indexes = {
+        @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_token_revocation_expires_at", columnList = "expires_at")})
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocation_seq")
+    @SequenceGenerator(name = "token_revocation_seq", sequenceName = "token_revocation_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(unique = true)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before")
+    private Instant revokedBefore;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
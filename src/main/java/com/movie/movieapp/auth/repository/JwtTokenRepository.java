@@ -3,17 +3,44 @@ package com.movie.movieapp.auth.repository;
 import com.movie.movieapp.auth.model.JwtToken;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Date;
 
 public interface JwtTokenRepository extends JpaRepository<JwtToken, Long> {
-    JwtToken findByToken(String token);
+    JwtToken findByTokenHash(String tokenHash);
 
+    /** Revokes every valid token of the user in one statement; returns how many were revoked. */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("""
-           select t from JwtToken t
-           where t.user.id = :userId 
-             and t.isRevoked = false 
+           update JwtToken t set t.isRevoked = true, t.isExpired = true
+           where t.user.id = :userId
+             and t.isRevoked = false
              and t.isExpired = false
            """)
-    List<JwtToken> findAllValidTokenByUser(@Param("userId") Long userId);
+    int revokeAllValidByUser(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+           update JwtToken t set t.isRevoked = true, t.isExpired = true
+           where t.user.id in :userIds
+             and t.isRevoked = false
+             and t.isExpired = false
+           """)
+    int revokeAllValidByUsers(@Param("userIds") Collection<Long> userIds);
+
+    /** Deletes up to {@code limit} tokens that expired before {@code now}, oldest first. */
+    @Transactional
+    @Modifying
+    @Query(value = """
+           delete from jwt_token
+           where id in (select id from jwt_token
+                        where expired_at < :now
+                        order by expired_at
+                        limit :limit)
+           """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Date now, @Param("limit") int limit);
 }
@@ -0,0 +1,27 @@
+package com.movie.movieapp.auth.repository;
+
+import com.movie.movieapp.auth.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    /** Revocations recorded after {@code since} that still cover unexpired tokens. */
+    @Query("""
+           select r from TokenRevocation r
+           where r.revokedAt > :since
+             and r.expiresAt > :now
+           """)
+    List<TokenRevocation> findActiveSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
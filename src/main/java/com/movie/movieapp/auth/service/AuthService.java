@@ -4,6 +4,10 @@ import com.movie.movieapp.auth.common.DTO.AuthResponseDTO;
 import com.movie.movieapp.auth.common.DTO.LoginRequestDTO;
 import com.movie.movieapp.auth.common.DTO.RefreshTokenRequestDTO;
 import com.movie.movieapp.auth.jwt.JwtService;
+import com.movie.movieapp.auth.jwt.PrincipalCache;
+import com.movie.movieapp.auth.jwt.TokenClaims;
+import com.movie.movieapp.auth.jwt.TokenDigest;
+import com.movie.movieapp.auth.jwt.TokenRevocationList;
 import com.movie.movieapp.auth.model.JwtToken;
 import com.movie.movieapp.auth.model.TokenType;
 import com.movie.movieapp.auth.repository.JwtTokenRepository;
@@ -14,17 +18,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -32,16 +33,23 @@ import java.util.Map;
 public class AuthService {
 
     private final MovieUserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
     private final JwtTokenRepository jwtTokenRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
 
-    @Transactional
+    /** Not transactional, so no connection is held while the password is hashed. */
     public AuthResponseDTO login(LoginRequestDTO request) {
         MovieUser user = userRepository.findByEmail(request.email());
-        if (user == null || !passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (user == null || !passwordHasher.matches(request.password(), user.getPassword())) {
             throw new BadCredentialsException("Invalid email or password");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.password()));
+            user = userRepository.save(user);
+            log.info("Rehashed password of user id={} with the current strength", user.getId());
+        }
         return buildTokens(user);
     }
 
@@ -55,7 +63,7 @@ public class AuthService {
             throw new BadCredentialsException("Invalid refresh token");
         }
 
-        JwtToken jwtToken = jwtTokenRepository.findByToken(oldRefresh);
+        JwtToken jwtToken = jwtTokenRepository.findByTokenHash(TokenDigest.sha256(oldRefresh));
         if (jwtToken == null || jwtToken.isExpired() || jwtToken.isRevoked()) {
             throw new BadCredentialsException("Invalid refresh token");
         }
@@ -70,18 +78,14 @@ public class AuthService {
     @Transactional
     public void logout() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String token = bearerToken();
         if (auth != null && auth.getPrincipal() instanceof MovieUser user) {
             revokeAllUserTokens(user);
+            revokeAccessToken(token);
             return;
         }
+        if (token == null) return;
 
-        ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attrs == null || attrs.getRequest() == null) return;
-
-        String header = attrs.getRequest().getHeader("Authorization");
-        if (header == null || !header.startsWith("Bearer ")) return;
-
-        String token = header.substring(7);
         String email;
         try {
             email = jwtService.extractUsername(token);
@@ -97,6 +101,26 @@ public class AuthService {
         }
     }
 
+    private String bearerToken() {
+        ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attrs == null || attrs.getRequest() == null) return null;
+
+        String header = attrs.getRequest().getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        return header.substring(7).trim();
+    }
+
+    /** Revokes the presented token by jti, covering what the per-user cut-off (second precision) may miss. */
+    private void revokeAccessToken(String token) {
+        if (token == null) return;
+        try {
+            TokenClaims claims = jwtService.verify(token);
+            revocationList.revokeToken(claims.id(), claims.expiresAt());
+        } catch (JwtException ignored) {
+            // expired or invalid, nothing left to revoke
+        }
+    }
+
     private AuthResponseDTO buildTokens(MovieUser user) {
         Map<String, Object> extra = new HashMap<>();
         extra.put("userId", user.getId());
@@ -107,7 +131,7 @@ public class AuthService {
         Date refreshExp = jwtService.extractExpiration(refresh);
 
         jwtTokenRepository.save(JwtToken.builder()
-                .token(refresh)
+                .tokenHash(TokenDigest.sha256(refresh))
                 .tokenType(TokenType.REFRESH)
                 .isExpired(false)
                 .isRevoked(false)
@@ -121,13 +145,20 @@ public class AuthService {
                 .build();
     }
 
+    /** Ends every session of the given users (admin mass logout); returns the number of refresh tokens revoked. */
+    @Transactional
+    public int revokeAllSessions(Collection<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        revocationList.revokeUsers(ids);
+        int revoked = jwtTokenRepository.revokeAllValidByUsers(ids);
+        log.info("Revoked {} refresh tokens of {} users", revoked, ids.size());
+        return revoked;
+    }
+
     private void revokeAllUserTokens(MovieUser user) {
-        List<JwtToken> validTokens = jwtTokenRepository.findAllValidTokenByUser(user.getId());
-        if (validTokens.isEmpty()) return;
-        for (JwtToken t : validTokens) {
-            t.setExpired(true);
-            t.setRevoked(true);
-        }
-        jwtTokenRepository.saveAll(validTokens);
+        principalCache.evict(user.getEmail());
+        revocationList.revokeUser(user.getId());
+        int revoked = jwtTokenRepository.revokeAllValidByUser(user.getId());
+        log.debug("Revoked {} refresh tokens of user id={}", revoked, user.getId());
     }
 }
@@ -0,0 +1,40 @@
+package com.movie.movieapp.auth.service;
+
+import com.movie.movieapp.auth.repository.JwtTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Deletes refresh tokens past their expiry so the token table only holds live sessions. Works in
+ * batches, each its own short transaction, so a large backlog never locks many rows at once.
+ */
+@Slf4j
+@Component
+public class JwtTokenSweeper {
+
+    private final JwtTokenRepository jwtTokenRepository;
+    private final int batchSize;
+
+    public JwtTokenSweeper(JwtTokenRepository jwtTokenRepository,
+                           @Value("${jwt.sweeper.batch-size:1000}") int batchSize) {
+        this.jwtTokenRepository = jwtTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.sweeper.interval:PT10M}", initialDelayString = "${jwt.sweeper.interval:PT10M}")
+    public int sweep() {
+        Date now = new Date();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jwtTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) log.info("Deleted {} expired refresh tokens", total);
+        return total;
+    }
+}
@@ -0,0 +1,8 @@
+package com.movie.movieapp.common.DTO;
+
+import com.movie.movieapp.model.ImportJobStatus;
+
+import java.time.Instant;
+
+public record ImportJobDTO(Long jobId, ImportJobStatus status, int total, long added, long exists,
+                           long failed, long pending, Instant createdAt, Instant finishedAt) {}
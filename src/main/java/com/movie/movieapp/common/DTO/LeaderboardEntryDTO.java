@@ -0,0 +1,4 @@
+package com.movie.movieapp.common.DTO;
+
+/** {@code recentRatings} counts rating writes inside the trending window. */
+public record LeaderboardEntryDTO(int rank, MovieSummaryDTO movie, double average, long count, long recentRatings) {}
@@ -1,5 +1,15 @@
 package com.movie.movieapp.common.DTO;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 
-public record MovieSummaryDTO(String imdbId, String title, String year, String type, String poster)
-{}
+/** {@code rating} is only filled when a listing is requested with {@code includeRatings}. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MovieSummaryDTO(String imdbId, String title, String year, String type, String poster,
+                              RatingSummaryDTO rating)
+{
+    /** The summary with its rating set; a static factory so MapStruct does not take it for a property. */
+    public static MovieSummaryDTO of(MovieSummaryDTO summary, RatingSummaryDTO rating) {
+        return new MovieSummaryDTO(summary.imdbId(), summary.title(), summary.year(), summary.type(),
+                summary.poster(), rating);
+    }
+}
@@ -0,0 +1,4 @@
+package com.movie.movieapp.common.DTO;
+
+public record OmdbCacheStatsDTO(String cache, long size, long hits, long misses, double hitRate,
+                                long evictions, long negativeHits) {}
@@ -0,0 +1,4 @@
+package com.movie.movieapp.common.DTO;
+
+public record OmdbLimiterStatsDTO(double concurrencyLimit, int inFlight, int queued, long quotaUsedToday,
+                                  long dailyQuota, long overloads, long retries) {}
@@ -0,0 +1,6 @@
+package com.movie.movieapp.common.DTO;
+
+import java.util.List;
+
+public record OmdbStatsDTO(List<OmdbCacheStatsDTO> caches, long coalescedSearches, long coalescedDetails,
+                           OmdbLimiterStatsDTO limiter, OmdbTransportStatsDTO transport) {}
@@ -0,0 +1,5 @@
+package com.movie.movieapp.common.DTO;
+
+public record OmdbTransportStatsDTO(String transport, long requests, long connectionsOpened, double reuseRatio,
+                                    int leased, int available, int pending, int maxConnections,
+                                    long gzipResponses) {}
@@ -2,6 +2,7 @@ package com.movie.movieapp.common.exception;
 
 import com.movie.movieapp.common.exception.customException.ExternalApiException;
 import com.movie.movieapp.common.exception.customException.NotFoundException;
+import com.movie.movieapp.common.exception.customException.ServiceBusyException;
 import com.movie.movieapp.common.response.AppResponse;
 import org.springframework.http.*;
 import org.springframework.security.access.AccessDeniedException;
@@ -54,6 +55,13 @@ public class GlobalExceptionHandler {
                 .body(AppResponse.fail(ex.getMessage(), "GEN_404"));
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<AppResponse<Void>> handleBusy(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(AppResponse.fail(ex.getMessage(), "GEN_503"));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<AppResponse<Void>> handleDenied(AccessDeniedException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
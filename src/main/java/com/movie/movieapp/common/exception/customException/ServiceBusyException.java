@@ -0,0 +1,7 @@
+package com.movie.movieapp.common.exception.customException;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
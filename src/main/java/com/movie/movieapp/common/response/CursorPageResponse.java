@@ -0,0 +1,28 @@
+package com.movie.movieapp.common.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/** One page of a keyset-paginated listing; pass {@code nextCursor} back to get the following page. */
+@Getter
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private final List<T> content;
+    private final int     pageSize;
+    private final boolean hasNext;
+    private final String  nextCursor;
+
+    public static <T> CursorPageResponse<T> of(Slice<T> slice, String nextCursor) {
+        return CursorPageResponse.<T>builder()
+                .content(slice.getContent())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .nextCursor(slice.hasNext() ? nextCursor : null)
+                .build();
+    }
+}
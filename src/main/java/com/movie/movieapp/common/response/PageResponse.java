@@ -11,7 +11,7 @@ import java.util.stream.Collectors;
 
 @Getter
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class PageResponse<T> {
     private final List<T> content;
     private final int     pageNumber;
@@ -22,6 +22,8 @@ public class PageResponse<T> {
     private final boolean last;
     private final boolean hasNext;
     private final boolean hasPrevious;
+    /** False when {@code totalElements}/{@code totalPages} are estimated or possibly stale. */
+    private final boolean exactTotal;
 
     public static <T> PageResponse<T> of(Page<T> page) {
         return PageResponse.<T>builder()
@@ -34,10 +36,15 @@ public class PageResponse<T> {
                 .last(page.isLast())
                 .hasNext(page.hasNext())
                 .hasPrevious(page.hasPrevious())
+                .exactTotal(true)
                 .build();
     }
 
     public static <T, U> PageResponse<U> of(Page<T> page, Function<T, U> mapper) {
+        return of(page, mapper, true);
+    }
+
+    public static <T, U> PageResponse<U> of(Page<T> page, Function<T, U> mapper, boolean exactTotal) {
         List<U> mapped = page.getContent()
                 .stream()
                 .map(mapper)
@@ -53,6 +60,7 @@ public class PageResponse<T> {
                 .last(page.isLast())
                 .hasNext(page.hasNext())
                 .hasPrevious(page.hasPrevious())
+                .exactTotal(exactTotal)
                 .build();
     }
 }
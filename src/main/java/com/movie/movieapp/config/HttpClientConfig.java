@@ -1,22 +1,44 @@
 package com.movie.movieapp.config;
 
 import com.movie.movieapp.omdb.OmdbProperties;
+import com.movie.movieapp.omdb.OmdbTransport;
+import com.movie.movieapp.omdb.PooledOmdbTransport;
+import com.movie.movieapp.omdb.RestTemplateOmdbTransport;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 @Configuration
 @EnableConfigurationProperties(OmdbProperties.class)
 public class HttpClientConfig {
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, OmdbProperties props) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(10))
+                .setConnectTimeout(props.getHttp().getConnectTimeout())
+                .setReadTimeout(props.getHttp().getResponseTimeout())
                 .build();
     }
+
+    @Bean
+    public OmdbTransport omdbTransport(OmdbProperties props, RestTemplate restTemplate) {
+        return switch (props.getHttp().getTransport()) {
+            case POOLED -> new PooledOmdbTransport(props.getHttp());
+            case SIMPLE -> new RestTemplateOmdbTransport(restTemplate);
+        };
+    }
+
+    @Bean(name = "omdbAsyncExecutor")
+    public ThreadPoolTaskExecutor omdbAsyncExecutor(OmdbProperties props) {
+        int threads = Math.max(1, props.getHttp().getAsyncThreads());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        // bounded, so a burst is rejected (AbortPolicy) instead of piling up behind a slow OMDb
+        executor.setQueueCapacity(Math.max(0, props.getHttp().getAsyncQueueCapacity()));
+        executor.setThreadNamePrefix("omdb-async-");
+        return executor;
+    }
 }
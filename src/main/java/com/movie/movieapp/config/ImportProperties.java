@@ -0,0 +1,17 @@
+package com.movie.movieapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "movies.import")
+public class ImportProperties {
+    /** Max number of OMDb detail fetches in flight at once. */
+    private int parallelism = 8;
+    /** Number of movies persisted per transaction / JDBC batch. */
+    private int batchSize = 50;
+    /** Number of background import jobs processed at the same time. */
+    private int jobConcurrency = 2;
+}
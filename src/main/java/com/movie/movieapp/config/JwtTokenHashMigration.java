@@ -0,0 +1,50 @@
+package com.movie.movieapp.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves stored refresh tokens from the raw token column to its SHA-256 digest. Rows created before
+ * get their digest computed in place (so existing sessions keep working), the old column is dropped
+ * and {@code token_hash} is made NOT NULL; the schema update cannot add it as such to a non-empty
+ * table. Postgres 11+ only; a no-op once the old column is gone and the constraint is in place.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class JwtTokenHashMigration implements InitializingBean {
+
+    private static final String COLUMN_EXISTS = """
+            select exists (select 1 from information_schema.columns
+                           where table_name = 'jwt_token' and column_name = ?)""";
+
+    private static final String IS_NULLABLE = """
+            select is_nullable from information_schema.columns
+            where table_name = 'jwt_token' and column_name = ?""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!PostgresOnly.applies(dataSource, "jwt token hash migration")) return;
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(COLUMN_EXISTS, Boolean.class, "token"))) {
+            int hashed = jdbcTemplate.update("""
+                    update jwt_token set token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+                    where token_hash is null""");
+            jdbcTemplate.execute("alter table jwt_token drop column token");
+            log.info("Replaced {} stored refresh tokens with their SHA-256 digest", hashed);
+        }
+        // SET NOT NULL takes an ACCESS EXCLUSIVE lock and scans the table, so only run it once
+        if (jdbcTemplate.queryForList(IS_NULLABLE, String.class, "token_hash").contains("YES")) {
+            jdbcTemplate.execute("alter table jwt_token alter column token_hash set not null");
+        }
+    }
+}
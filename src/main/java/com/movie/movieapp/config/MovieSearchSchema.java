@@ -0,0 +1,49 @@
+package com.movie.movieapp.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Search structures Hibernate's schema update cannot create: a weighted {@code search_vector}
+ * generated column (title A, director and actors B, genre C) with a GIN index for ranked
+ * full-text search, and a trigram GIN index on {@code lower(title)} so substring matches
+ * are index scans too. Postgres only; every statement is idempotent.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class MovieSearchSchema implements InitializingBean {
+
+    private static final String SEARCH_VECTOR = """
+            alter table movie add column if not exists search_vector tsvector generated always as (
+                setweight(to_tsvector('simple'::regconfig, coalesce(title, '')), 'A') ||
+                setweight(to_tsvector('simple'::regconfig, coalesce(director, '')), 'B') ||
+                setweight(to_tsvector('simple'::regconfig, coalesce(actors, '')), 'B') ||
+                setweight(to_tsvector('simple'::regconfig, coalesce(genre, '')), 'C')
+            ) stored""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!PostgresOnly.applies(dataSource, "search schema")) return;
+        jdbcTemplate.execute(SEARCH_VECTOR);
+        jdbcTemplate.execute("create index if not exists idx_movie_search_vector on movie using gin (search_vector)");
+        try {
+            jdbcTemplate.execute("create extension if not exists pg_trgm");
+            jdbcTemplate.execute("create index if not exists idx_movie_title_trgm on movie using gin (lower(title) gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            // substring matches still work, they just scan
+            log.warn("pg_trgm unavailable, title substring search will not be indexed: {}", e.getMessage());
+        }
+    }
+}
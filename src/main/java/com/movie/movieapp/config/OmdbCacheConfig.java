@@ -0,0 +1,18 @@
+package com.movie.movieapp.config;
+
+import com.movie.movieapp.omdb.CaffeineOmdbCache;
+import com.movie.movieapp.omdb.NoOpOmdbCache;
+import com.movie.movieapp.omdb.OmdbCache;
+import com.movie.movieapp.omdb.OmdbProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OmdbCacheConfig {
+
+    @Bean
+    public OmdbCache omdbCache(OmdbProperties props) {
+        OmdbProperties.Cache cache = props.getCache();
+        return cache.isEnabled() ? new CaffeineOmdbCache(cache) : new NoOpOmdbCache();
+    }
+}
@@ -0,0 +1,26 @@
+package com.movie.movieapp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+
+/**
+ * Guard for the startup migrations, which use Postgres-only SQL and are skipped on any other
+ * database (H2 in tests).
+ */
+@Slf4j
+final class PostgresOnly {
+
+    private PostgresOnly() {
+    }
+
+    /** True on Postgres; otherwise logs that {@code what} is skipped. */
+    static boolean applies(DataSource dataSource, String what) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, meta -> meta.getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) return true;
+        log.debug("Skipping {} on {}", what, product);
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.movie.movieapp.config;
+
+import com.movie.movieapp.rating.DirectRatingWrites;
+import com.movie.movieapp.rating.JdbcRatingBatchWriter;
+import com.movie.movieapp.rating.RatingLeaderboard;
+import com.movie.movieapp.rating.RatingWriteBuffer;
+import com.movie.movieapp.rating.WriteBehindRatingBuffer;
+import com.movie.movieapp.repository.MovieRatingStatsRepository;
+import com.movie.movieapp.repository.RatingRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RatingProperties.class)
+public class RatingConfig {
+
+    /** Write-behind buffer when enabled; closed (and drained) by the context on shutdown. */
+    @Bean
+    public RatingWriteBuffer ratingWriteBuffer(RatingProperties props,
+                                               NamedParameterJdbcTemplate jdbc,
+                                               PlatformTransactionManager transactionManager,
+                                               MovieRatingStatsRepository movieRatingStatsRepository,
+                                               ApplicationEventPublisher events) {
+        RatingProperties.WriteBehind writeBehind = props.getWriteBehind();
+        if (!writeBehind.isEnabled()) {
+            return new DirectRatingWrites();
+        }
+        return new WriteBehindRatingBuffer(writeBehind, new JdbcRatingBatchWriter(
+                jdbc, new TransactionTemplate(transactionManager), movieRatingStatsRepository, events));
+    }
+
+    @Bean
+    public RatingLeaderboard ratingLeaderboard(RatingProperties props,
+                                               MovieRatingStatsRepository movieRatingStatsRepository,
+                                               RatingRepository ratingRepository,
+                                               PlatformTransactionManager transactionManager) {
+        // one repeatable-read snapshot for the rebuild's queries, so totals and recent writes agree
+        TransactionTemplate snapshotReads = new TransactionTemplate(transactionManager);
+        snapshotReads.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotReads.setReadOnly(true);
+        return new RatingLeaderboard(props.getLeaderboard(), movieRatingStatsRepository, ratingRepository,
+                snapshotReads, Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,44 @@
+package com.movie.movieapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "movies.rating")
+public class RatingProperties {
+
+    private WriteBehind writeBehind = new WriteBehind();
+    private Leaderboard leaderboard = new Leaderboard();
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        /** Queue rating writes and flush them in batches instead of writing in the request. */
+        private boolean enabled = false;
+        /** Queues, each flushed by its own thread; a movie always maps to the same one. */
+        private int partitions = 4;
+        /** Pending (user, movie) ratings per partition before writers are held back. */
+        private int capacity = 10_000;
+        /** Max ratings per flush statement. */
+        private int batchSize = 500;
+        /** A partition is flushed at least this often, sooner once a full batch is pending. */
+        private Duration flushInterval = Duration.ofMillis(200);
+        /** How long a writer waits for room in a full partition before getting a 503. */
+        private Duration offerTimeout = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Leaderboard {
+        /** Bayesian prior: every movie starts with this many virtual votes... */
+        private int priorVotes = 10;
+        /** ...of this score, so a few perfect ratings do not top the board. */
+        private double priorMean = 3.0;
+        /** Trending counts rating writes over this many days, today included. */
+        private int trendingDays = 7;
+    }
+}
@@ -0,0 +1,42 @@
+package com.movie.movieapp.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Fills {@code movie_rating_stats} from the existing ratings the first time the app starts with
+ * the table empty. From then on the rating service keeps it current, so later starts only pay
+ * for two existence checks. Postgres only.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn({"entityManagerFactory", "ratingUniquenessMigration"})
+public class RatingStatsMigration implements InitializingBean {
+
+    private static final String BACKFILL = """
+            insert into movie_rating_stats (movie_id, rating_sum, rating_count)
+            select movie_id, sum(score), count(*) from rating group by movie_id
+            on conflict (movie_id) do nothing""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!PostgresOnly.applies(dataSource, "rating stats backfill")) return;
+        Boolean needed = jdbcTemplate.queryForObject(
+                "select not exists (select 1 from movie_rating_stats) and exists (select 1 from rating)",
+                Boolean.class);
+        if (!Boolean.TRUE.equals(needed)) return;
+
+        int movies = jdbcTemplate.update(BACKFILL);
+        log.info("Backfilled rating stats for {} movies", movies);
+    }
+}
@@ -0,0 +1,59 @@
+package com.movie.movieapp.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Adds the unique (user_id, movie_id) constraint to rating tables that predate it. Concurrent
+ * requests could create duplicate ratings before, which makes the schema update skip the
+ * constraint; those duplicates are removed first, keeping each user's latest rating, and the
+ * aggregates of the affected movies are recomputed. Postgres only; a no-op once the constraint exists.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class RatingUniquenessMigration implements InitializingBean {
+
+    private static final String CONSTRAINT = "uk_rating_user_movie";
+
+    private static final String DELETE_DUPLICATES = """
+            delete from rating r using rating newer
+            where r.user_id = newer.user_id and r.movie_id = newer.movie_id
+              and (r.updated_at, r.id) < (newer.updated_at, newer.id)
+            returning r.movie_id""";
+
+    private static final String RECOMPUTE_STATS = """
+            insert into movie_rating_stats (movie_id, rating_sum, rating_count)
+            select movie_id, sum(score), count(*) from rating where movie_id = any(?) group by movie_id
+            on conflict (movie_id) do update
+               set rating_sum = excluded.rating_sum, rating_count = excluded.rating_count""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!PostgresOnly.applies(dataSource, "rating uniqueness migration")) return;
+        Boolean present = jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_constraint where conname = ?)", Boolean.class, CONSTRAINT);
+        if (Boolean.TRUE.equals(present)) return;
+
+        List<Long> movies = jdbcTemplate.queryForList(DELETE_DUPLICATES, Long.class).stream().distinct().toList();
+        jdbcTemplate.execute("alter table rating add constraint " + CONSTRAINT + " unique (user_id, movie_id)");
+        log.info("Added {}, removed duplicate ratings on {} movies", CONSTRAINT, movies.size());
+
+        Boolean statsPopulated = jdbcTemplate.queryForObject(
+                "select exists (select 1 from movie_rating_stats)", Boolean.class);
+        if (!movies.isEmpty() && Boolean.TRUE.equals(statsPopulated)) {
+            jdbcTemplate.update(RECOMPUTE_STATS, (Object) movies.toArray(Long[]::new));
+        }
+    }
+}
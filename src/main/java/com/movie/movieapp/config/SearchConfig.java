@@ -0,0 +1,34 @@
+package com.movie.movieapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.repository.MovieRepository;
+import com.movie.movieapp.search.*;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+
+    @Bean
+    public MovieSearchIndex movieSearchIndex(SearchProperties props, MovieRepository movieRepository, MovieMapper movieMapper) {
+        return props.getEngine() == SearchProperties.Engine.MEMORY
+                ? new InMemoryMovieSearchIndex(movieRepository, movieMapper)
+                : new NoOpMovieSearchIndex();
+    }
+
+    @Bean
+    public MovieCounter movieCounter(SearchProperties props, MovieRepository movieRepository,
+                                     JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        SearchProperties.Count count = props.getCount();
+        MovieCounter exact = new ExactMovieCounter(movieRepository, props.getEngine());
+        return switch (count.getMode()) {
+            case EXACT -> exact;
+            case CACHED -> new CachedMovieCounter(exact, count.getTtl(), count.getMaxEntries());
+            case APPROXIMATE -> new ApproximateMovieCounter(jdbcTemplate, objectMapper, props.getEngine(), exact);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.movie.movieapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "movies.search")
+public class SearchProperties {
+
+    public enum Engine {
+        /** Plain {@code lower(title) like '%term%'}; no ranking. */
+        LIKE,
+        /** Ranked Postgres full-text search over title, director, actors and genre. */
+        FULL_TEXT,
+        /** In-process inverted index built at startup; search never reaches the database. */
+        MEMORY
+    }
+
+    /** Backend used by {@code GET /movies?search=}. */
+    private Engine engine = Engine.FULL_TEXT;
+    private Count count = new Count();
+
+    public enum CountMode {
+        /** {@code count(*)} on every request. */
+        EXACT,
+        /** Exact counts remembered per search term for {@code ttl}. */
+        CACHED,
+        /** Planner estimates (table statistics / EXPLAIN) on Postgres; exact elsewhere. */
+        APPROXIMATE
+    }
+
+    /** How {@code totalElements} of offset-paginated listings is computed. */
+    @Getter
+    @Setter
+    public static class Count {
+        private CountMode mode = CountMode.EXACT;
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxEntries = 10_000;
+    }
+}
@@ -0,0 +1,55 @@
+package com.movie.movieapp.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Moves tables created with IDENTITY ids over to the pooled sequences the entities now use.
+ * Runs once the schema update has created the sequences and before the app takes traffic:
+ * drops the identity default and pushes each sequence past the current max id. Both steps are
+ * idempotent (a sequence is never moved backwards), so this is safe on every start.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class SequenceMigration implements InitializingBean {
+
+    /** Must match the {@code allocationSize} of the entities' sequence generators. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "movie", "movie_seq",
+            "rating", "rating_seq",
+            "jwt_token", "jwt_token_seq",
+            "import_job", "import_job_seq",
+            "import_job_item", "import_job_item_seq");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!PostgresOnly.applies(dataSource, "sequence migration")) return;
+        SEQUENCES.forEach(this::migrate);
+    }
+
+    private void migrate(String table, String sequence) {
+        Boolean tableExists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, table);
+        if (!Boolean.TRUE.equals(tableExists)) return;
+
+        jdbcTemplate.execute("alter table " + table + " alter column id drop identity if exists");
+        Long value = jdbcTemplate.queryForObject(
+                "select setval('" + sequence + "', greatest((select coalesce(max(id), 0) from " + table + ") + "
+                        + ALLOCATION_SIZE + ", (select last_value from " + sequence + ")))",
+                Long.class);
+        log.debug("Sequence {} aligned with {}.id at {}", sequence, table, value);
+    }
+}
@@ -2,17 +2,19 @@ package com.movie.movieapp.controller;
 
 import com.movie.movieapp.common.DTO.*;
 import com.movie.movieapp.common.response.AppResponse;
+import com.movie.movieapp.common.response.CursorPageResponse;
 import com.movie.movieapp.common.response.PageResponse;
-import com.movie.movieapp.entity.Movie;
-import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.service.ImportJobService;
 import com.movie.movieapp.service.MovieUserService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -28,7 +30,7 @@ import java.util.Map;
 public class MovieUserController {
 
     private final MovieUserService movieUserService;
-    private final MovieMapper movieMapper;
+    private final ImportJobService importJobService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("${movies.omdb-search-uri}")
@@ -40,6 +42,13 @@ public class MovieUserController {
         return AppResponse.ok("OMDb search done", movieUserService.searchOmdb(query, page));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("${movies.omdb-cache-stats-uri}")
+    @Operation(summary = "Admin: OMDb client stats (cache hit/miss/eviction, coalesced calls)")
+    public AppResponse<OmdbStatsDTO> omdbStats() {
+        return AppResponse.ok("OMDb stats", movieUserService.getOmdbStats());
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("${movies.import-from-omdb}")
     @Operation(summary = "Admin: import one or multiple movies from OMDb by imdbId")
@@ -47,6 +56,28 @@ public class MovieUserController {
         return AppResponse.ok("Import finished", movieUserService.importByImdbIds(req));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("${movies.import-jobs}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Admin: start a background import job and get its id")
+    public AppResponse<ImportJobDTO> submitImportJob(@RequestBody @Valid ImportMovieRequestDTO req) {
+        return AppResponse.ok("Import job started", importJobService.submit(req));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("${movies.import-job-status}")
+    @Operation(summary = "Admin: get progress of an import job (ADDED/EXISTS/FAILED counts)")
+    public AppResponse<ImportJobDTO> importJobStatus(@PathVariable Long jobId) {
+        return AppResponse.ok("Import job status", importJobService.getStatus(jobId));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "${movies.import-job-stream}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Admin: stream import job results as server-sent events")
+    public SseEmitter streamImportJob(@PathVariable Long jobId) {
+        return importJobService.stream(jobId);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("${movies.delete-by-imdbid}")
     @Operation(summary = "Admin: delete a single movie from DB by imdbId")
@@ -69,12 +100,21 @@ public class MovieUserController {
     }
 
     @GetMapping
-    @Operation(summary = "User: list movies from DB with search & pagination")
+    @Operation(summary = "User: list movies from DB with search & pagination (includeRatings embeds rating summaries)")
     public AppResponse<PageResponse<MovieSummaryDTO>> getMovies(
             @RequestParam(defaultValue = "1") @Min(1) int page,
             @RequestParam(defaultValue = "15") @Min(1) @Max(100) int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean includeRatings) {
+        return AppResponse.ok("Movies fetched", movieUserService.getMovies(search, page, size, includeRatings));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "User: list movies from DB by title with cursor pagination (send an empty cursor for the first page)")
+    public AppResponse<CursorPageResponse<MovieSummaryDTO>> getMoviesByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "15") @Min(1) @Max(100) int size,
             @RequestParam(required = false) String search) {
-        Page<Movie> p = movieUserService.getMoviesFromDB(search, page, size);
-        return AppResponse.ok("Movies fetched", PageResponse.of(p, movieMapper::toSummary));
+        return AppResponse.ok("Movies fetched", movieUserService.getMoviesByCursor(search, cursor, size));
     }
 }
@@ -1,16 +1,23 @@
 package com.movie.movieapp.controller;
 
+import com.movie.movieapp.common.DTO.LeaderboardEntryDTO;
 import com.movie.movieapp.common.DTO.RatingRequestDTO;
 import com.movie.movieapp.common.DTO.RatingSummaryDTO;
 import com.movie.movieapp.common.response.AppResponse;
+import com.movie.movieapp.rating.RatingLeaderboard;
 import com.movie.movieapp.service.RatingService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("${movies.rating.base-uri}")
 @RequiredArgsConstructor
@@ -41,6 +48,30 @@ public class RatingController {
         return AppResponse.ok("Rating summary", ratingService.getMovieSummary(imdbId));
     }
 
+    @GetMapping("${movies.rating.summaries-uri}")
+    @Operation(summary = "Get rating summaries (avg, count, my rating) for up to 100 movies at once")
+    public AppResponse<Map<String, RatingSummaryDTO>> summaries(@RequestParam("ids") List<String> ids) {
+        return AppResponse.ok("Rating summaries", ratingService.getSummaries(ids));
+    }
+
+    @GetMapping("${movies.rating.leaderboard-top-rated-uri}")
+    @Operation(summary = "Best rated movies (Bayesian average, so a handful of votes does not win)")
+    public AppResponse<List<LeaderboardEntryDTO>> topRated(@RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return AppResponse.ok("Top rated", ratingService.getLeaderboard(RatingLeaderboard.Board.TOP_RATED, limit));
+    }
+
+    @GetMapping("${movies.rating.leaderboard-most-rated-uri}")
+    @Operation(summary = "Movies with the most ratings")
+    public AppResponse<List<LeaderboardEntryDTO>> mostRated(@RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return AppResponse.ok("Most rated", ratingService.getLeaderboard(RatingLeaderboard.Board.MOST_RATED, limit));
+    }
+
+    @GetMapping("${movies.rating.leaderboard-trending-uri}")
+    @Operation(summary = "Movies rated the most over the last days (movies.rating.leaderboard.trending-days)")
+    public AppResponse<List<LeaderboardEntryDTO>> trending(@RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return AppResponse.ok("Trending", ratingService.getLeaderboard(RatingLeaderboard.Board.TRENDING, limit));
+    }
+
     @DeleteMapping("${movies.rating.delete-my-rating-uri}")
     @Operation(summary = "Delete my rating for a movie")
     public AppResponse<RatingSummaryDTO> deleteMyRating(@PathVariable String imdbId) {
@@ -0,0 +1,41 @@
+package com.movie.movieapp.entity;
+
+import com.movie.movieapp.model.ImportStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(indexes = @Index(name = "idx_import_job_item_job_position", columnList = "job_id, position"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_item_seq")
+    @SequenceGenerator(name = "import_job_item_seq", sequenceName = "import_job_item_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ImportJob job;
+
+    @Column(nullable = false)
+    private int position;
+
+    @Column(length = 64)
+    private String imdbId;
+
+    /** Null while the id is still pending. */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ImportStatus status;
+
+    @Column(length = 512)
+    private String message;
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_movie_title_id", columnList = "title, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,7 +14,8 @@ import lombok.*;
 public class Movie {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
+    @SequenceGenerator(name = "movie_seq", sequenceName = "movie_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -0,0 +1,41 @@
+package com.movie.movieapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Running rating aggregates of one movie, keyed by the movie id. Rows are only written through
+ * {@code MovieRatingStatsRepository.applyDelta}, in the same transaction as the rating change,
+ * so a summary is a primary-key read instead of an aggregate over the movie's ratings.
+ */
+@Entity
+@Immutable
+@Table(name = "movie_rating_stats")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieRatingStats {
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "movie_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Movie movie;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long ratingCount;
+
+    public double average() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+}
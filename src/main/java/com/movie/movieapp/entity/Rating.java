@@ -12,6 +12,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
 
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_rating_user_movie", columnNames = {"user_id", "movie_id"}),
+        indexes = @Index(name = "idx_rating_movie_user", columnList = "movie_id, user_id"))
 @Getter
 @Setter
 @Builder
@@ -20,7 +23,8 @@ import java.time.Instant;
 public class Rating {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rating_seq")
+    @SequenceGenerator(name = "rating_seq", sequenceName = "rating_seq", allocationSize = 50)
     private Long id;
 
     @Min(1)
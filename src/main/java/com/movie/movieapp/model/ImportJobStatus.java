@@ -0,0 +1,7 @@
+package com.movie.movieapp.model;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
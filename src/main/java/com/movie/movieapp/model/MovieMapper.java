@@ -19,6 +19,7 @@ public interface MovieMapper {
     })
     Movie toEntity(OmdbMovieDTO dto);
 
+    @Mapping(target = "rating", ignore = true)
     MovieSummaryDTO toSummary(Movie movie);
 
     MovieDTO toDetail(Movie movie);
@@ -0,0 +1,97 @@
+package com.movie.movieapp.omdb;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.movie.movieapp.common.DTO.OmdbCacheStatsDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, TTL-based OMDb response cache.
+ * Search results are keyed by the normalized query and page, details by imdbId.
+ * Definitive "not found" answers from OMDb are cached for {@code negativeTtl}; transport errors never are.
+ */
+public class CaffeineOmdbCache implements OmdbCache {
+
+    private static final Set<String> NEGATIVE_ERRORS = Set.of("Movie not found!", "Incorrect IMDb ID.");
+
+    private final Cache<String, Entry<OmdbSearchResponseDTO>> searchCache;
+    private final Cache<String, Entry<OmdbMovieDTO>> detailCache;
+    private final LongAdder negativeSearchHits = new LongAdder();
+    private final LongAdder negativeDetailHits = new LongAdder();
+
+    public CaffeineOmdbCache(OmdbProperties.Cache props) {
+        this.searchCache = build(props.getMaxSearchEntries(), props.getTtl(), props.getNegativeTtl());
+        this.detailCache = build(props.getMaxDetailEntries(), props.getTtl(), props.getNegativeTtl());
+    }
+
+    @Override
+    public OmdbSearchResponseDTO search(String query, int page, Supplier<OmdbSearchResponseDTO> loader) {
+        return lookup(searchCache, OmdbKeys.search(query, page), loader, negativeSearchHits);
+    }
+
+    @Override
+    public OmdbMovieDTO detail(String imdbId, Supplier<OmdbMovieDTO> loader) {
+        return lookup(detailCache, OmdbKeys.detail(imdbId), loader, negativeDetailHits);
+    }
+
+    @Override
+    public List<OmdbCacheStatsDTO> stats() {
+        return List.of(
+                toStats("search", searchCache, negativeSearchHits),
+                toStats("detail", detailCache, negativeDetailHits));
+    }
+
+    // The loader runs outside the cache's compute lock so a slow OMDb call never blocks other keys.
+    private static <T> T lookup(Cache<String, Entry<T>> cache, String key, Supplier<T> loader, LongAdder negativeHits) {
+        Entry<T> entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.error() != null) negativeHits.increment();
+            return entry.unwrap();
+        }
+        entry = load(loader);
+        cache.put(key, entry);
+        return entry.unwrap();
+    }
+
+    private static <T> Entry<T> load(Supplier<T> loader) {
+        try {
+            return new Entry<>(loader.get(), null);
+        } catch (ExternalApiException e) {
+            if (NEGATIVE_ERRORS.contains(e.getMessage())) {
+                return new Entry<>(null, e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private static <T> Cache<String, Entry<T>> build(long maxEntries, Duration ttl, Duration negativeTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.<String, Entry<T>>writing((key, entry) -> entry.error() == null ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+    }
+
+    private static OmdbCacheStatsDTO toStats(String name, Cache<?, ?> cache, LongAdder negativeHits) {
+        CacheStats s = cache.stats();
+        return new OmdbCacheStatsDTO(name, cache.estimatedSize(), s.hitCount(), s.missCount(), s.hitRate(),
+                s.evictionCount(), negativeHits.sum());
+    }
+
+    private record Entry<T>(T value, String error) {
+        T unwrap() {
+            if (error != null) throw new ExternalApiException(error);
+            return value;
+        }
+    }
+}
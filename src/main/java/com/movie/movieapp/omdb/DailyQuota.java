@@ -0,0 +1,48 @@
+package com.movie.movieapp.omdb;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/** Counts requests per UTC day, the period OMDb API keys are billed on. */
+class DailyQuota {
+
+    private final long limit;
+    private final Clock clock;
+    private LocalDate day;
+    private long used;
+
+    DailyQuota(long limit, Clock clock) {
+        this.limit = limit;
+        this.clock = clock.withZone(ZoneOffset.UTC);
+        this.day = LocalDate.now(this.clock);
+    }
+
+    synchronized boolean tryConsume() {
+        rollOver();
+        if (limit > 0 && used >= limit) return false;
+        used++;
+        return true;
+    }
+
+    synchronized void refund() {
+        if (used > 0) used--;
+    }
+
+    synchronized long used() {
+        rollOver();
+        return used;
+    }
+
+    long limit() {
+        return limit;
+    }
+
+    private void rollOver() {
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(day)) {
+            day = today;
+            used = 0;
+        }
+    }
+}
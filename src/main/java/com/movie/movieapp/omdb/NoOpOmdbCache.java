@@ -0,0 +1,27 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbCacheStatsDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/** Used when {@code omdb.cache.enabled=false}: every call goes to OMDb. */
+public class NoOpOmdbCache implements OmdbCache {
+
+    @Override
+    public OmdbSearchResponseDTO search(String query, int page, Supplier<OmdbSearchResponseDTO> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public OmdbMovieDTO detail(String imdbId, Supplier<OmdbMovieDTO> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public List<OmdbCacheStatsDTO> stats() {
+        return List.of();
+    }
+}
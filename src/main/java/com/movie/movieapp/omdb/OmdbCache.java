@@ -0,0 +1,22 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbCacheStatsDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Response cache in front of the OMDb HTTP calls. {@code loader} is only invoked on a miss;
+ * an {@link com.movie.movieapp.common.exception.customException.ExternalApiException} it throws
+ * may be remembered and rethrown for later calls with the same key (negative caching).
+ */
+public interface OmdbCache {
+
+    OmdbSearchResponseDTO search(String query, int page, Supplier<OmdbSearchResponseDTO> loader);
+
+    OmdbMovieDTO detail(String imdbId, Supplier<OmdbMovieDTO> loader);
+
+    List<OmdbCacheStatsDTO> stats();
+}
@@ -2,16 +2,24 @@ package com.movie.movieapp.omdb;
 
 import com.movie.movieapp.common.DTO.OmdbMovieDTO;
 import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+import com.movie.movieapp.common.DTO.OmdbStatsDTO;
 import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import com.movie.movieapp.common.exception.customException.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -22,9 +30,23 @@ public class OmdbClient {
     private static final int MAX_PAGE = 100;
     private static final String OMDB_SEARCH = "OMDb search";
     private static final String OMDB_DETAIL = "OMDb detail";
+    private static final String REQUEST_TIMER = "omdb.requests";
+    private static final String OUTCOME_SUCCESS = "success";
+    /** OMDb answered with {@code Response=False}, e.g. not found or bad key. */
+    private static final String OUTCOME_OMDB_ERROR = "omdb_error";
+    /** Transport failure, timeout or throttle rejection. */
+    private static final String OUTCOME_FAILURE = "failure";
 
-    private final RestTemplate restTemplate;
+    private final OmdbTransport transport;
+    private final OmdbResponseParser parser;
     private final OmdbProperties props;
+    private final OmdbCache cache;
+    private final OmdbThrottle throttle;
+    @Qualifier("omdbAsyncExecutor")
+    private final Executor asyncExecutor;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<String, OmdbSearchResponseDTO> searchFlights = new SingleFlight<>();
+    private final SingleFlight<String, OmdbMovieDTO> detailFlights = new SingleFlight<>();
 
     public OmdbSearchResponseDTO search(String query, int page) {
         if (!StringUtils.hasText(query)){
@@ -33,11 +55,9 @@ public class OmdbClient {
         }
 
         int pageParam = Math.max(MIN_PAGE, Math.min(page, MAX_PAGE));
-        URI uri = buildSearchUri(query.trim(), pageParam);
-
-        OmdbSearchResponseDTO res = get(uri, OmdbSearchResponseDTO.class, OMDB_SEARCH);
-        if (!res.isOk()) throw new ExternalApiException(res.error() == null ? "OMDb search error" : res.error());
-        return res;
+        String q = query.trim();
+        return cache.search(q, pageParam,
+                () -> searchFlights.execute(OmdbKeys.search(q, pageParam), () -> fetchSearch(q, pageParam)));
     }
 
     public OmdbMovieDTO getById(String imdbId) {
@@ -45,14 +65,72 @@ public class OmdbClient {
             log.warn("OMDb getById called with empty imdbId");
             throw new IllegalArgumentException("imdbId must not be empty");
         }
-        URI uri = buildDetailUri(imdbId.trim());
+        String id = imdbId.trim();
+        return cache.detail(id, () -> detailFlights.execute(OmdbKeys.detail(id), () -> fetchDetail(id)));
+    }
+
+    public CompletableFuture<OmdbSearchResponseDTO> searchAsync(String query, int page) {
+        return supplyAsync(() -> search(query, page));
+    }
+
+    public CompletableFuture<OmdbMovieDTO> getByIdAsync(String imdbId) {
+        return supplyAsync(() -> getById(imdbId));
+    }
+
+    public OmdbStatsDTO stats() {
+        return new OmdbStatsDTO(cache.stats(), searchFlights.coalescedCount(), detailFlights.coalescedCount(),
+                throttle.stats(), transport.stats());
+    }
+
+    /** Runs on the bounded async executor; a full queue fails the future instead of blocking the caller. */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, asyncExecutor);
+        } catch (RejectedExecutionException ex) {
+            log.warn("OMDb async queue is full, rejecting call");
+            return CompletableFuture.failedFuture(new ServiceBusyException("Too many OMDb requests in flight, retry shortly"));
+        }
+    }
+
+    private OmdbSearchResponseDTO fetchSearch(String query, int page) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_FAILURE;
+        OmdbSearchResponseDTO res;
+        try {
+            res = get(buildSearchUri(query, page), parser::parseSearch, OMDB_SEARCH);
+            outcome = res.isOk() ? OUTCOME_SUCCESS : OUTCOME_OMDB_ERROR;
+        } finally {
+            sample.stop(requestTimer("search", outcome));
+        }
+        if (!res.isOk()) throw new ExternalApiException(res.error() == null ? "OMDb search error" : res.error());
+        return res;
+    }
 
-        OmdbMovieDTO res = get(uri, OmdbMovieDTO.class, OMDB_DETAIL);
+    private OmdbMovieDTO fetchDetail(String imdbId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_FAILURE;
+        OmdbMovieDTO res;
+        try {
+            res = get(buildDetailUri(imdbId), parser::parseMovie, OMDB_DETAIL);
+            outcome = res.isOk() ? OUTCOME_SUCCESS : OUTCOME_OMDB_ERROR;
+        } finally {
+            sample.stop(requestTimer("detail", outcome));
+        }
         if (!res.isOk())
             throw new ExternalApiException(res.error() == null ? "OMDb detail error" : res.error());
         return res;
     }
 
+    /** Time of each OMDb HTTP call (cache hits and coalesced calls are not included). */
+    private Timer requestTimer(String type, String outcome) {
+        return Timer.builder(REQUEST_TIMER)
+                .description("OMDb API calls")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     private URI buildSearchUri(String query, int page) {
         return UriComponentsBuilder.fromHttpUrl(props.getApiUrl())
                 .queryParam("apikey", props.getApiKey())
@@ -69,9 +147,9 @@ public class OmdbClient {
                 .build(true).toUri();
     }
 
-    private <T> T get(URI uri, Class<T> type, String ctx) {
+    private <T> T get(URI uri, OmdbTransport.BodyReader<T> reader, String ctx) {
         try {
-            return restTemplate.getForObject(uri, type);
+            return throttle.call(ctx, () -> transport.get(uri, reader));
         } catch (RestClientException ex) {
             log.error("{} request to {} failed: {}", ctx, uri, ex.getMessage());
             throw new ExternalApiException(ctx + ": request failed");
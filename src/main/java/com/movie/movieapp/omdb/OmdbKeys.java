@@ -0,0 +1,20 @@
+package com.movie.movieapp.omdb;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/** Normalized keys shared by the OMDb cache and request coalescing. */
+final class OmdbKeys {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private OmdbKeys() {}
+
+    static String search(String query, int page) {
+        return WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT) + "|" + page;
+    }
+
+    static String detail(String imdbId) {
+        return imdbId.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -5,10 +5,78 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "omdb")
 public class OmdbProperties {
     private String apiUrl;
     private String apiKey;
-}
\ No newline at end of file
+    private Cache cache = new Cache();
+    private RateLimit rateLimit = new RateLimit();
+    private Concurrency concurrency = new Concurrency();
+    private Retry retry = new Retry();
+    private Http http = new Http();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxSearchEntries = 1_000;
+        private long maxDetailEntries = 10_000;
+        private Duration ttl = Duration.ofHours(12);
+        /** How long "Movie not found!" style answers are remembered. */
+        private Duration negativeTtl = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        /** Token-bucket refill rate; 0 or less disables rate limiting. */
+        private double requestsPerSecond = 10;
+        /** Requests allowed per UTC day; 0 or less means unlimited. */
+        private long dailyQuota = 0;
+        /** Max time a call waits for a rate or concurrency permit before failing. */
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private int initialLimit = 8;
+        private int minLimit = 1;
+        private int maxLimit = 32;
+        /** Factor applied to the limit on 429/5xx/timeouts. */
+        private double backoffRatio = 0.5;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        /** Longest Retry-After honoured; when OMDb asks for more, the call fails instead of retrying early. */
+        private Duration maxRetryAfter = Duration.ofSeconds(30);
+    }
+
+    public enum Transport { SIMPLE, POOLED }
+
+    @Getter
+    @Setter
+    public static class Http {
+        /** SIMPLE: RestTemplate on JDK HttpURLConnection; POOLED: pooled async client with HTTP/2 negotiation. */
+        private Transport transport = Transport.SIMPLE;
+        private int maxConnections = 20;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration responseTimeout = Duration.ofSeconds(10);
+        /** Pooled connections idle for longer than this are closed. */
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration connectionTtl = Duration.ofMinutes(5);
+        /** Threads backing the async OmdbClient methods. */
+        private int asyncThreads = 8;
+        /** Async calls waiting for a thread; beyond this they fail fast with ServiceBusyException. */
+        private int asyncQueueCapacity = 100;
+    }
+}
@@ -0,0 +1,128 @@
+package com.movie.movieapp.omdb;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchItemDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull parser for OMDb responses. Reads straight from the response stream and keeps only the
+ * fields the DTOs (and so {@code MovieMapper.toEntity}) use; everything else, e.g. "Ratings",
+ * "Writer" or "BoxOffice", is skipped token by token without building a tree.
+ */
+@Component
+public class OmdbResponseParser {
+
+    private final JsonFactory jsonFactory;
+
+    public OmdbResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public OmdbMovieDTO parseMovie(InputStream in) throws IOException {
+        String title = null, year = null, imdbId = null, type = null, poster = null, plot = null,
+                genre = null, runtime = null, director = null, actors = null, language = null,
+                country = null, awards = null, rated = null, released = null, response = null, error = null;
+
+        try (JsonParser p = jsonFactory.createParser(in)) {
+            expectStartObject(p);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "Title" -> title = text(p);
+                    case "Year" -> year = text(p);
+                    case "imdbID" -> imdbId = text(p);
+                    case "Type" -> type = text(p);
+                    case "Poster" -> poster = text(p);
+                    case "Plot" -> plot = text(p);
+                    case "Genre" -> genre = text(p);
+                    case "Runtime" -> runtime = text(p);
+                    case "Director" -> director = text(p);
+                    case "Actors" -> actors = text(p);
+                    case "Language" -> language = text(p);
+                    case "Country" -> country = text(p);
+                    case "Awards" -> awards = text(p);
+                    case "Rated" -> rated = text(p);
+                    case "Released" -> released = text(p);
+                    case "Response" -> response = text(p);
+                    case "Error" -> error = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+        return new OmdbMovieDTO(title, year, imdbId, type, poster, plot, genre, runtime, director, actors,
+                language, country, awards, rated, released, response, error);
+    }
+
+    public OmdbSearchResponseDTO parseSearch(InputStream in) throws IOException {
+        List<OmdbSearchItemDTO> items = null;
+        String totalResults = null, response = null, error = null;
+
+        try (JsonParser p = jsonFactory.createParser(in)) {
+            expectStartObject(p);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "Search" -> items = value == JsonToken.START_ARRAY ? searchItems(p) : skip(p);
+                    case "totalResults" -> totalResults = text(p);
+                    case "Response" -> response = text(p);
+                    case "Error" -> error = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+        return new OmdbSearchResponseDTO(items, totalResults, response, error);
+    }
+
+    private static List<OmdbSearchItemDTO> searchItems(JsonParser p) throws IOException {
+        List<OmdbSearchItemDTO> items = new ArrayList<>(10);
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            String title = null, year = null, imdbId = null, type = null, poster = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "Title" -> title = text(p);
+                    case "Year" -> year = text(p);
+                    case "imdbID" -> imdbId = text(p);
+                    case "Type" -> type = text(p);
+                    case "Poster" -> poster = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+            items.add(new OmdbSearchItemDTO(title, year, imdbId, type, poster));
+        }
+        return items;
+    }
+
+    private static <T> T skip(JsonParser p) throws IOException {
+        p.skipChildren();
+        return null;
+    }
+
+    // OMDb sends strings everywhere; tolerate nulls, numbers and stray objects instead of failing the import.
+    private static String text(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NULL) return null;
+        if (t.isScalarValue()) return p.getText();
+        p.skipChildren();
+        return null;
+    }
+
+    private static void expectStartObject(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("OMDb response is not a JSON object");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbLimiterStatsDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.net.SocketTimeoutException;
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Guards every OMDb HTTP call with a token-bucket rate limit, a daily quota and an AIMD concurrency
+ * limit. Overload responses (429, 5xx, timeouts) shrink the limit and are retried with jittered
+ * exponential backoff; any other failure is passed straight to the caller.
+ */
+@Slf4j
+@Component
+public class OmdbThrottle {
+
+    private final TokenBucket rateLimit;
+    private final DailyQuota dailyQuota;
+    private final AdaptiveConcurrencyLimit concurrency;
+    private final OmdbProperties.Retry retry;
+    private final long acquireTimeoutNanos;
+
+    private final AtomicInteger waitingForRate = new AtomicInteger();
+    private final LongAdder overloads = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public OmdbThrottle(OmdbProperties props) {
+        OmdbProperties.RateLimit rate = props.getRateLimit();
+        OmdbProperties.Concurrency limits = props.getConcurrency();
+        this.rateLimit = rate.getRequestsPerSecond() > 0 ? new TokenBucket(rate.getRequestsPerSecond()) : null;
+        this.dailyQuota = new DailyQuota(rate.getDailyQuota(), Clock.systemUTC());
+        this.concurrency = new AdaptiveConcurrencyLimit(limits.getInitialLimit(), limits.getMinLimit(),
+                limits.getMaxLimit(), limits.getBackoffRatio());
+        this.retry = props.getRetry();
+        this.acquireTimeoutNanos = rate.getAcquireTimeout().toNanos();
+    }
+
+    public <T> T call(String ctx, Supplier<T> request) {
+        int maxAttempts = Math.max(1, retry.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            acquire(ctx);
+            RestClientException overload;
+            try {
+                T result = request.get();
+                concurrency.release(AdaptiveConcurrencyLimit.Outcome.SUCCESS);
+                return result;
+            } catch (RestClientException ex) {
+                if (!isOverload(ex)) {
+                    concurrency.release(AdaptiveConcurrencyLimit.Outcome.IGNORED);
+                    throw ex;
+                }
+                concurrency.release(AdaptiveConcurrencyLimit.Outcome.DROPPED);
+                overloads.increment();
+                if (attempt >= maxAttempts) throw ex;
+                if (retryAfterNanos(ex) > retry.getMaxRetryAfter().toNanos()) {
+                    log.warn("{} overloaded ({}), OMDb asks to retry after more than {}, giving up", ctx,
+                            ex.getMessage(), retry.getMaxRetryAfter());
+                    throw ex;
+                }
+                overload = ex;
+            } catch (RuntimeException ex) {
+                concurrency.release(AdaptiveConcurrencyLimit.Outcome.IGNORED);
+                throw ex;
+            }
+            retries.increment();
+            long backoff = backoffNanos(attempt, overload);
+            log.warn("{} overloaded ({}), retry {}/{} in {} ms, concurrency limit now {}", ctx, overload.getMessage(),
+                    attempt, maxAttempts - 1, TimeUnit.NANOSECONDS.toMillis(backoff), (int) concurrency.limit());
+            sleep(ctx, backoff);
+        }
+    }
+
+    public OmdbLimiterStatsDTO stats() {
+        return new OmdbLimiterStatsDTO(concurrency.limit(), concurrency.inFlight(),
+                concurrency.waiting() + waitingForRate.get(), dailyQuota.used(), dailyQuota.limit(),
+                overloads.sum(), retries.sum());
+    }
+
+    private void acquire(String ctx) {
+        if (!dailyQuota.tryConsume()) {
+            throw new ExternalApiException(ctx + ": daily quota exhausted");
+        }
+        if (rateLimit != null) {
+            long wait = rateLimit.reserve();
+            if (wait > acquireTimeoutNanos) {
+                rateLimit.cancel();
+                dailyQuota.refund();
+                throw new ExternalApiException(ctx + ": rate limit exceeded");
+            }
+            if (wait > 0) {
+                waitingForRate.incrementAndGet();
+                try {
+                    sleep(ctx, wait);
+                } finally {
+                    waitingForRate.decrementAndGet();
+                }
+            }
+        }
+        try {
+            if (!concurrency.acquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                dailyQuota.refund();
+                throw new ExternalApiException(ctx + ": too many concurrent requests");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException(ctx + ": interrupted");
+        }
+    }
+
+    private long backoffNanos(int attempt, RestClientException overload) {
+        long initial = retry.getInitialBackoff().toNanos();
+        long max = retry.getMaxBackoff().toNanos();
+        long ceiling = Math.min(max, initial << Math.min(attempt - 1, 30));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        return Math.max(backoff, retryAfterNanos(overload));
+    }
+
+    private static long retryAfterNanos(RestClientException ex) {
+        if (ex instanceof HttpStatusCodeException h && h.getResponseHeaders() != null) {
+            String value = h.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+            if (value != null) {
+                try {
+                    return TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim()));
+                } catch (NumberFormatException ignored) {
+                    // HTTP-date form is not worth supporting here
+                }
+            }
+        }
+        return 0;
+    }
+
+    /** 429, 5xx and timeouts; other I/O failures (refused, unknown host, TLS) won't improve by waiting. */
+    static boolean isOverload(RestClientException ex) {
+        if (ex instanceof ResourceAccessException) {
+            for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof SocketTimeoutException || cause instanceof ConnectTimeoutException) return true;
+            }
+            return false;
+        }
+        if (ex instanceof HttpStatusCodeException h) {
+            return h.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value() || h.getStatusCode().is5xxServerError();
+        }
+        return false;
+    }
+
+    private static void sleep(String ctx, long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException(ctx + ": interrupted");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbTransportStatsDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Executes a GET against OMDb and hands the (already inflated) response body to a {@link BodyReader}.
+ * Failures are reported as {@link org.springframework.web.client.RestClientException}s
+ * (HTTP status errors as {@link org.springframework.web.client.HttpStatusCodeException},
+ * I/O errors as {@link org.springframework.web.client.ResourceAccessException}) so callers
+ * can treat every transport alike.
+ */
+public interface OmdbTransport {
+
+    <T> T get(URI uri, BodyReader<T> reader);
+
+    OmdbTransportStatsDTO stats();
+
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
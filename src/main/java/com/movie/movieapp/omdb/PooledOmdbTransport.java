@@ -0,0 +1,202 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbTransportStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * OMDb transport on a pooled, non-blocking HTTP client. Connections are kept alive and shared
+ * (multiplexed when the server negotiates HTTP/2), idle ones are evicted, and gzip bodies are
+ * requested and inflated here.
+ */
+@Slf4j
+public class PooledOmdbTransport implements OmdbTransport, AutoCloseable {
+
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient client;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder gzipResponses = new LongAdder();
+
+    public PooledOmdbTransport(OmdbProperties.Http http) {
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnections())
+                .setDnsResolver(new CountingDnsResolver())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.getResponseTimeout()))
+                        .setTimeToLive(TimeValue.of(http.getConnectionTtl()))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .build())
+                .build();
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(http.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(http.getIdleTimeout()))
+                .disableCookieManagement()
+                .disableAutomaticRetries()
+                .build();
+        this.client.start();
+    }
+
+    @Override
+    public <T> T get(URI uri, BodyReader<T> reader) {
+        try {
+            return getAsync(uri, reader).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri.getPath() + "\": " + e.getCause(),
+                    e.getCause() instanceof IOException io ? io : null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for OMDb");
+        }
+    }
+
+    /** Sends the request without blocking; the future completes on the client's I/O threads. */
+    public <T> CompletableFuture<T> getAsync(URI uri, BodyReader<T> reader) {
+        SimpleHttpRequest request = SimpleRequestBuilder.get(uri)
+                .addHeader(HttpHeaders.ACCEPT, "application/json")
+                .addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        requests.increment();
+        client.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try {
+                    result.complete(read(response, reader));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                result.completeExceptionally(new ResourceAccessException("I/O error on GET request: " + ex.getMessage(),
+                        ex instanceof IOException io ? io : new IOException(ex)));
+            }
+
+            @Override
+            public void cancelled() {
+                result.completeExceptionally(new ResourceAccessException("OMDb request cancelled"));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public OmdbTransportStatsDTO stats() {
+        PoolStats pool = connectionManager.getTotalStats();
+        long sent = requests.sum();
+        long opened = connectionsOpened.sum();
+        double reuse = sent == 0 ? 0 : Math.max(0, 1 - (double) opened / sent);
+        return new OmdbTransportStatsDTO(OmdbProperties.Transport.POOLED.name(), sent, opened, reuse,
+                pool.getLeased(), pool.getAvailable(), pool.getPending(), pool.getMax(), gzipResponses.sum());
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+
+    private <T> T read(SimpleHttpResponse response, BodyReader<T> reader) {
+        byte[] body = response.getBodyBytes() == null ? new byte[0] : response.getBodyBytes();
+        boolean gzip = isGzip(response, body);
+        if (response.getCode() >= 400) {
+            HttpStatusCode status = HttpStatusCode.valueOf(response.getCode());
+            HttpHeaders headers = toHeaders(response);
+            byte[] errorBody = gzip ? inflateQuietly(body) : body;
+            if (status.is4xxClientError()) {
+                throw HttpClientErrorException.create(status, response.getReasonPhrase(), headers, errorBody, StandardCharsets.UTF_8);
+            }
+            throw HttpServerErrorException.create(status, response.getReasonPhrase(), headers, errorBody, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(body)) : new ByteArrayInputStream(body)) {
+            if (gzip) gzipResponses.increment();
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new RestClientException("Could not read OMDb response", e);
+        }
+    }
+
+    // Only inflate when the header says so and the body really starts with the gzip magic number.
+    private static boolean isGzip(SimpleHttpResponse response, byte[] body) {
+        Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && "gzip".equalsIgnoreCase(encoding.getValue().trim())
+                && body.length > 1 && (body[0] & 0xff) == 0x1f && (body[1] & 0xff) == 0x8b;
+    }
+
+    private static byte[] inflateQuietly(byte[] body) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private static HttpHeaders toHeaders(SimpleHttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Header h : response.getHeaders()) {
+            headers.add(h.getName(), h.getValue());
+        }
+        return headers;
+    }
+
+    /** The pool resolves the host once per new connection, which makes it a cheap "connections opened" counter. */
+    private final class CountingDnsResolver implements DnsResolver {
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            connectionsOpened.increment();
+            return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+        }
+
+        @Override
+        public String resolveCanonicalHostname(String host) throws UnknownHostException {
+            return SystemDefaultDnsResolver.INSTANCE.resolveCanonicalHostname(host);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbTransportStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@RequiredArgsConstructor
+public class RestTemplateOmdbTransport implements OmdbTransport {
+
+    private final RestTemplate restTemplate;
+    private final LongAdder requests = new LongAdder();
+
+    @Override
+    public <T> T get(URI uri, BodyReader<T> reader) {
+        requests.increment();
+        // status errors are raised by the template's error handler before the extractor runs
+        return restTemplate.execute(uri, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> read(response.getBody(), reader));
+    }
+
+    /**
+     * The template reports an IOException from the extractor as a ResourceAccessException, which the
+     * throttle treats as overload; a body we cannot parse is not, so it is raised as a plain
+     * RestClientException, the same as {@link PooledOmdbTransport} does.
+     */
+    private static <T> T read(InputStream body, BodyReader<T> reader) {
+        try {
+            return reader.read(body);
+        } catch (IOException e) {
+            throw new RestClientException("Could not read OMDb response", e);
+        }
+    }
+
+    @Override
+    public OmdbTransportStatsDTO stats() {
+        return new OmdbTransportStatsDTO(OmdbProperties.Transport.SIMPLE.name(), requests.sum(),
+                0, 0, 0, 0, 0, 0, 0);
+    }
+}
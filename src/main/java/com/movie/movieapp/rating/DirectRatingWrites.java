@@ -0,0 +1,17 @@
+package com.movie.movieapp.rating;
+
+import java.util.Optional;
+
+/** Used when write-behind is off: nothing is buffered, every write happens in its request. */
+public class DirectRatingWrites implements RatingWriteBuffer {
+
+    @Override
+    public boolean offer(PendingRating rating) {
+        return false;
+    }
+
+    @Override
+    public Optional<PendingRating> pending(long userId, long movieId) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.movie.movieapp.rating;
+
+import com.movie.movieapp.repository.MovieRatingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Writes a batch in one transaction: a JDBC-batched {@code INSERT ... ON CONFLICT (user_id, movie_id)
+ * DO UPDATE} for the scores, a batched delete for removed ratings, and one aggregate update per
+ * movie. Previous scores are read up front to compute the aggregate deltas; that is race free because
+ * each movie's writes come from a single flushing thread. Postgres only.
+ */
+@RequiredArgsConstructor
+public class JdbcRatingBatchWriter implements RatingBatchWriter {
+
+    // every nextval reserves a whole pooled block, so these ids never collide with Hibernate's;
+    // writes for a movie deleted since they were queued are dropped by the exists check
+    private static final String UPSERT = """
+            insert into rating (id, user_id, movie_id, score, created_at, updated_at)
+            select nextval('rating_seq'), :userId, :movieId, :score, now(), now()
+            where exists (select 1 from movie where id = :movieId)
+            on conflict (user_id, movie_id) do update
+               set score = excluded.score, updated_at = excluded.updated_at""";
+
+    private static final String DELETE = "delete from rating where user_id = :userId and movie_id = :movieId";
+
+    private static final String CURRENT_SCORES = """
+            select user_id, movie_id, score from rating
+            where movie_id in (:movieIds) and user_id in (:userIds)""";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final MovieRatingStatsRepository movieRatingStatsRepository;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public void write(List<PendingRating> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<PendingRating.Key, Integer> before = currentScores(batch);
+
+            List<Map<String, Object>> upserts = new ArrayList<>();
+            List<Map<String, Object>> deletes = new ArrayList<>();
+            // per movie: sum delta, count delta, writes
+            Map<Long, long[]> deltas = new HashMap<>();
+            for (PendingRating r : batch) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("userId", r.userId());
+                params.put("movieId", r.movieId());
+                if (r.deleted()) {
+                    deletes.add(params);
+                } else {
+                    params.put("score", r.score());
+                    upserts.add(params);
+                }
+                Integer old = before.get(r.key());
+                long[] delta = deltas.computeIfAbsent(r.movieId(), id -> new long[3]);
+                delta[0] += (r.deleted() ? 0 : r.score()) - (old == null ? 0 : old);
+                delta[1] += (r.deleted() ? 0 : 1) - (old == null ? 0 : 1);
+                delta[2] += r.deleted() ? 0 : 1;
+            }
+            if (!upserts.isEmpty()) jdbc.batchUpdate(UPSERT, toArray(upserts));
+            if (!deletes.isEmpty()) jdbc.batchUpdate(DELETE, toArray(deletes));
+
+            Set<Long> existing = existingMovies(deltas.keySet());
+            deltas.forEach((movieId, delta) -> {
+                if (!existing.contains(movieId)) return;
+                if (delta[0] != 0 || delta[1] != 0) {
+                    movieRatingStatsRepository.applyDelta(movieId, delta[0], delta[1]);
+                }
+                events.publishEvent(new RatingChangedEvent(movieId, delta[0], delta[1], (int) delta[2]));
+            });
+        });
+    }
+
+    private Map<PendingRating.Key, Integer> currentScores(List<PendingRating> batch) {
+        Set<Long> movieIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (PendingRating r : batch) {
+            movieIds.add(r.movieId());
+            userIds.add(r.userId());
+        }
+        Map<PendingRating.Key, Integer> scores = new HashMap<>();
+        jdbc.query(CURRENT_SCORES, Map.of("movieIds", movieIds, "userIds", userIds), rs -> {
+            scores.put(new PendingRating.Key(rs.getLong("user_id"), rs.getLong("movie_id")), rs.getInt("score"));
+        });
+        return scores;
+    }
+
+    private Set<Long> existingMovies(Set<Long> movieIds) {
+        return new HashSet<>(jdbc.queryForList("select id from movie where id in (:ids)", Map.of("ids", movieIds), Long.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object>[] toArray(List<Map<String, Object>> params) {
+        return params.toArray(new Map[0]);
+    }
+}
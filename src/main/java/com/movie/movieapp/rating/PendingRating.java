@@ -0,0 +1,24 @@
+package com.movie.movieapp.rating;
+
+/** A rating write not yet flushed; a null score deletes the user's rating. */
+public record PendingRating(long userId, long movieId, Integer score) {
+
+    public static PendingRating upsert(long userId, long movieId, int score) {
+        return new PendingRating(userId, movieId, score);
+    }
+
+    public static PendingRating delete(long userId, long movieId) {
+        return new PendingRating(userId, movieId, null);
+    }
+
+    public boolean deleted() {
+        return score == null;
+    }
+
+    Key key() {
+        return new Key(userId, movieId);
+    }
+
+    record Key(long userId, long movieId) {
+    }
+}
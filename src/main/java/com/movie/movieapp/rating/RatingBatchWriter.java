@@ -0,0 +1,10 @@
+package com.movie.movieapp.rating;
+
+import java.util.List;
+
+/** Persists one batch of rating writes atomically; at most one write per (user, movie). */
+@FunctionalInterface
+public interface RatingBatchWriter {
+
+    void write(List<PendingRating> batch);
+}
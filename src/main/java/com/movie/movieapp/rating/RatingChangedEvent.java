@@ -0,0 +1,9 @@
+package com.movie.movieapp.rating;
+
+/**
+ * Published once a change to a movie's ratings is committed.
+ *
+ * @param writes ratings created or re-scored (deletes count as none)
+ */
+public record RatingChangedEvent(long movieId, long sumDelta, long countDelta, int writes) {
+}
@@ -0,0 +1,261 @@
+package com.movie.movieapp.rating;
+
+import com.movie.movieapp.config.RatingProperties;
+import com.movie.movieapp.repository.MovieRatingStatsRepository;
+import com.movie.movieapp.repository.RatingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory rankings of rated movies: by Bayesian average, by number of ratings, and by rating writes
+ * in the last few days. Each board is a sorted set kept current from {@link RatingChangedEvent}s, so
+ * an update costs O(log n) and reading the top k costs O(k). Recent writes are counted in day buckets
+ * that fall out of the window as days pass. Rebuilt from the database once the app is up; events
+ * arriving while the rebuild reads are replayed onto the rebuilt boards.
+ */
+@Slf4j
+public class RatingLeaderboard {
+
+    public enum Board { TOP_RATED, MOST_RATED, TRENDING }
+
+    /** A movie's standing; {@code recentRatings} counts writes inside the trending window. */
+    public record Entry(long movieId, long ratingSum, long ratingCount, long recentRatings) {
+        public double average() {
+            return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+        }
+    }
+
+    private record Ranked(double score, long movieId) {
+    }
+
+    private static final Comparator<Ranked> ORDER =
+            Comparator.comparingDouble(Ranked::score).reversed().thenComparingLong(Ranked::movieId);
+
+    private static final class Totals {
+        long sum;
+        long count;
+        long recent;
+    }
+
+    private final MovieRatingStatsRepository movieRatingStatsRepository;
+    private final RatingRepository ratingRepository;
+    /** Runs the rebuild's two queries on one snapshot. */
+    private final TransactionOperations snapshotReads;
+    private final double priorVotes;
+    private final double priorSum;
+    private final int trendingDays;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Totals> totals = new HashMap<>();
+    private final Map<Board, NavigableSet<Ranked>> boards = new EnumMap<>(Board.class);
+    /** Writes per movie, per epoch day, for the days still inside the trending window. */
+    private final TreeMap<Long, Map<Long, Long>> writesByDay = new TreeMap<>();
+    private volatile long expiredBefore;
+    /** Events seen while a rebuild is reading, to replay on the rebuilt state; null otherwise. Guarded by the write lock. */
+    private List<RatingChangedEvent> arrivedDuringRebuild;
+
+    public RatingLeaderboard(RatingProperties.Leaderboard props, MovieRatingStatsRepository movieRatingStatsRepository,
+                             RatingRepository ratingRepository, TransactionOperations snapshotReads, Clock clock) {
+        this.movieRatingStatsRepository = movieRatingStatsRepository;
+        this.ratingRepository = ratingRepository;
+        this.snapshotReads = snapshotReads;
+        this.priorVotes = Math.max(0, props.getPriorVotes());
+        this.priorSum = priorVotes * props.getPriorMean();
+        this.trendingDays = Math.max(1, props.getTrendingDays());
+        this.clock = clock;
+        for (Board board : Board.values()) boards.put(board, new TreeSet<>(ORDER));
+        this.expiredBefore = firstDayInWindow();
+    }
+
+    /**
+     * Loads every movie's totals and the trending window's writes per day. Events are recorded from before
+     * the snapshot is taken until the new state is swapped in, then replayed on top of it, so none is lost;
+     * only a write whose commit races the snapshot itself can be counted twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long firstDay = firstDayInWindow();
+        lock.writeLock().lock();
+        try {
+            arrivedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> stats;
+        List<Object[]> writes;
+        try {
+            List<List<Object[]>> snapshot = snapshotReads.execute(status -> List.of(
+                    movieRatingStatsRepository.findAllTotals(),
+                    ratingRepository.countWritesByMovieAndDay(
+                            LocalDate.ofEpochDay(firstDay).atStartOfDay(clock.getZone()).toInstant())));
+            stats = snapshot.get(0);
+            writes = snapshot.get(1);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                arrivedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<RatingChangedEvent> arrived = arrivedDuringRebuild;
+            arrivedDuringRebuild = null;
+            totals.clear();
+            writesByDay.clear();
+            boards.values().forEach(Set::clear);
+            for (Object[] row : stats) {
+                Totals t = totals.computeIfAbsent((Long) row[0], id -> new Totals());
+                t.sum = ((Number) row[1]).longValue();
+                t.count = ((Number) row[2]).longValue();
+            }
+            for (Object[] row : writes) {
+                long movieId = (Long) row[0];
+                long day = ((LocalDate) row[1]).toEpochDay();
+                long n = ((Number) row[2]).longValue();
+                writesByDay.computeIfAbsent(day, d -> new HashMap<>()).merge(movieId, n, Long::sum);
+                totals.computeIfAbsent(movieId, id -> new Totals()).recent += n;
+            }
+            totals.values().removeIf(t -> t.count <= 0 && t.recent <= 0);
+            totals.forEach(this::rank);
+            expiredBefore = firstDay;
+            arrived.forEach(this::apply);
+            if (!arrived.isEmpty()) log.debug("Replayed {} rating changes that arrived during the rebuild", arrived.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Rating leaderboard built with {} movies in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (arrivedDuringRebuild != null) arrivedDuringRebuild.add(event);
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The best {@code k} movies of the board, best first. */
+    public List<Entry> top(Board board, int k) {
+        if (expiredBefore < firstDayInWindow()) {
+            lock.writeLock().lock();
+            try {
+                expire();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = new ArrayList<>(Math.min(k, totals.size()));
+            for (Ranked r : boards.get(board)) {
+                if (entries.size() >= k) break;
+                Totals t = totals.get(r.movieId());
+                entries.add(new Entry(r.movieId(), t.sum, t.count, t.recent));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Drops movies that no longer exist. */
+    public void remove(Collection<Long> movieIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long movieId : movieIds) {
+                Totals t = totals.remove(movieId);
+                if (t != null) unrank(movieId, t);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return totals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Caller holds the write lock. */
+    private void apply(RatingChangedEvent event) {
+        expire();
+        Totals t = totals.computeIfAbsent(event.movieId(), id -> new Totals());
+        unrank(event.movieId(), t);
+        t.sum += event.sumDelta();
+        t.count += event.countDelta();
+        if (event.writes() > 0) {
+            long today = LocalDate.now(clock).toEpochDay();
+            writesByDay.computeIfAbsent(today, d -> new HashMap<>()).merge(event.movieId(), (long) event.writes(), Long::sum);
+            t.recent += event.writes();
+        }
+        rank(event.movieId(), t);
+        dropIfEmpty(event.movieId(), t);
+    }
+
+    /** Takes days that left the trending window out of the recent counts. Caller holds the write lock. */
+    private void expire() {
+        long firstDay = firstDayInWindow();
+        while (!writesByDay.isEmpty() && writesByDay.firstKey() < firstDay) {
+            writesByDay.pollFirstEntry().getValue().forEach((movieId, n) -> {
+                Totals t = totals.get(movieId);
+                if (t == null) return;
+                unrank(movieId, t);
+                t.recent -= n;
+                rank(movieId, t);
+                dropIfEmpty(movieId, t);
+            });
+        }
+        expiredBefore = firstDay;
+    }
+
+    private void rank(long movieId, Totals t) {
+        if (t.count > 0) {
+            boards.get(Board.TOP_RATED).add(new Ranked(bayesian(t), movieId));
+            boards.get(Board.MOST_RATED).add(new Ranked(t.count, movieId));
+        }
+        if (t.recent > 0) {
+            boards.get(Board.TRENDING).add(new Ranked(t.recent, movieId));
+        }
+    }
+
+    private void dropIfEmpty(long movieId, Totals t) {
+        if (t.count <= 0 && t.recent <= 0) totals.remove(movieId);
+    }
+
+    private void unrank(long movieId, Totals t) {
+        boards.get(Board.TOP_RATED).remove(new Ranked(bayesian(t), movieId));
+        boards.get(Board.MOST_RATED).remove(new Ranked(t.count, movieId));
+        boards.get(Board.TRENDING).remove(new Ranked(t.recent, movieId));
+    }
+
+    private double bayesian(Totals t) {
+        return (priorSum + t.sum) / (priorVotes + t.count);
+    }
+
+    private long firstDayInWindow() {
+        return LocalDate.now(clock).toEpochDay() - trendingDays + 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.movie.movieapp.rating;
+
+import java.util.Optional;
+
+/**
+ * Where rating writes go before they reach the rating table.
+ */
+public interface RatingWriteBuffer {
+
+    /**
+     * Queues the write. Returns false when the caller must write it synchronously itself
+     * (buffering disabled or shutting down).
+     */
+    boolean offer(PendingRating rating);
+
+    /** The user's latest queued write for the movie, so reads see it before it is flushed. */
+    Optional<PendingRating> pending(long userId, long movieId);
+}
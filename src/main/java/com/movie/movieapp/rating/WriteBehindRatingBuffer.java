@@ -0,0 +1,189 @@
+package com.movie.movieapp.rating;
+
+import com.movie.movieapp.common.exception.customException.ServiceBusyException;
+import com.movie.movieapp.config.RatingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers rating writes in bounded partitions keyed by movie and flushes each partition in batches.
+ * Only the latest write per (user, movie) is kept, and it stays readable through {@link #pending}
+ * until the batch holding it has committed. A partition is flushed by one thread at a time, so
+ * all writes of a movie reach the database in order and never contend with each other.
+ * When a partition is full, writers wait up to the offer timeout and then get a 503.
+ * A failed batch is retried row by row, and rows the database rejects are dropped, so one bad
+ * write cannot hold back the rest of its partition.
+ * {@link #close()} stops buffering and drains whatever is still pending.
+ */
+@Slf4j
+public class WriteBehindRatingBuffer implements RatingWriteBuffer, AutoCloseable {
+
+    private final RatingBatchWriter writer;
+    private final Partition[] partitions;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    public WriteBehindRatingBuffer(RatingProperties.WriteBehind props, RatingBatchWriter writer) {
+        this.writer = writer;
+        this.batchSize = Math.max(1, props.getBatchSize());
+        this.offerTimeoutNanos = props.getOfferTimeout().toNanos();
+        int count = Math.max(1, props.getPartitions());
+        this.partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new Partition(Math.max(1, props.getCapacity()));
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(count, r -> {
+            Thread t = new Thread(r, "rating-flush-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1, props.getFlushInterval().toMillis());
+        for (Partition p : partitions) {
+            flusher.scheduleWithFixedDelay(() -> flushQuietly(p), interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean offer(PendingRating rating) {
+        if (closed) return false;
+        Partition p = partitionOf(rating.movieId());
+        if (p.pending.replace(rating.key(), rating) != null) {
+            return true; // replaced an unflushed write of the same key, no new slot needed
+        }
+        try {
+            if (!p.slots.tryAcquire(offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                requestFlush(p);
+                throw new ServiceBusyException("Too many pending ratings, retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while queueing rating");
+        }
+        if (p.pending.put(rating.key(), rating) != null) {
+            p.slots.release(); // raced with another write of the same key
+        }
+        if (p.pending.size() >= batchSize) requestFlush(p);
+        return true;
+    }
+
+    @Override
+    public Optional<PendingRating> pending(long userId, long movieId) {
+        return Optional.ofNullable(partitionOf(movieId).pending.get(new PendingRating.Key(userId, movieId)));
+    }
+
+    /** Pending writes across all partitions. */
+    public int size() {
+        int size = 0;
+        for (Partition p : partitions) size += p.pending.size();
+        return size;
+    }
+
+    /** Flushes every partition until nothing is pending (or a batch fails). */
+    public void flushAll() {
+        for (Partition p : partitions) flush(p);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) flusher.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flushAll();
+        } catch (RuntimeException e) {
+            log.error("Dropping {} pending ratings on shutdown: {}", size(), e.getMessage());
+        }
+    }
+
+    private void requestFlush(Partition p) {
+        if (p.flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> flushQuietly(p));
+            } catch (RejectedExecutionException e) {
+                p.flushRequested.set(false); // shutting down, close() drains it
+            }
+        }
+    }
+
+    private void flushQuietly(Partition p) {
+        try {
+            flush(p);
+        } catch (RuntimeException e) {
+            // entries stay pending and are retried on the next tick
+            log.warn("Rating flush failed, {} writes kept for retry: {}", p.pending.size(), e.getMessage());
+        }
+    }
+
+    private void flush(Partition p) {
+        p.lock.lock();
+        try {
+            p.flushRequested.set(false);
+            while (true) {
+                List<PendingRating> batch = p.pending.values().stream().limit(batchSize).toList();
+                if (batch.isEmpty()) return;
+                try {
+                    writer.write(batch);
+                } catch (RuntimeException e) {
+                    writeOneByOne(p, batch, e);
+                    continue;
+                }
+                for (PendingRating r : batch) release(p, r);
+                if (batch.size() < batchSize) return;
+            }
+        } finally {
+            p.lock.unlock();
+        }
+    }
+
+    /**
+     * Retries a failed batch one row at a time. A row rejected by a constraint (e.g. its user is gone) is
+     * dropped and logged; any other failure, such as the database being down, ends the pass and leaves
+     * the remaining rows queued for the next tick.
+     */
+    private void writeOneByOne(Partition p, List<PendingRating> batch, RuntimeException batchFailure) {
+        log.warn("Rating batch of {} failed, retrying row by row: {}", batch.size(), batchFailure.getMessage());
+        for (PendingRating r : batch) {
+            try {
+                writer.write(List.of(r));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping rating write {} rejected by the database: {}", r, e.getMostSpecificCause().getMessage());
+            }
+            release(p, r);
+        }
+    }
+
+    private static void release(Partition p, PendingRating r) {
+        // a newer write of the same key stays queued for the next batch
+        if (p.pending.remove(r.key(), r)) p.slots.release();
+    }
+
+    private Partition partitionOf(long movieId) {
+        return partitions[Math.floorMod(Long.hashCode(movieId) * 0x9E3779B9, partitions.length)];
+    }
+
+    private static final class Partition {
+        final ConcurrentMap<PendingRating.Key, PendingRating> pending = new ConcurrentHashMap<>();
+        final Semaphore slots;
+        final ReentrantLock lock = new ReentrantLock();
+        final AtomicBoolean flushRequested = new AtomicBoolean();
+
+        Partition(int capacity) {
+            this.slots = new Semaphore(capacity);
+        }
+    }
+}
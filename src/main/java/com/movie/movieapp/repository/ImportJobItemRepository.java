@@ -0,0 +1,24 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.ImportJobItem;
+import com.movie.movieapp.model.ImportStatus;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ImportJobItemRepository extends JpaRepository<ImportJobItem, Long> {
+
+    List<ImportJobItem> findByJobIdAndStatusIsNullOrderByPosition(Long jobId);
+
+    List<ImportJobItem> findByJobIdAndStatusIsNotNullOrderByPosition(Long jobId);
+
+    @Query("select i.status, count(i) from ImportJobItem i where i.job.id = :jobId group by i.status")
+    List<Object[]> countByStatus(@Param("jobId") Long jobId);
+
+    @Transactional
+    @Modifying
+    @Query("update ImportJobItem i set i.status = :status, i.message = :message where i.id = :id")
+    int complete(@Param("id") Long id, @Param("status") ImportStatus status, @Param("message") String message);
+}
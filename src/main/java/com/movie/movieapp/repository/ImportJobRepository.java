@@ -0,0 +1,11 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.ImportJob;
+import com.movie.movieapp.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    List<ImportJob> findByStatus(ImportJobStatus status);
+}
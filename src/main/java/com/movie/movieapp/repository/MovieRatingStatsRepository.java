@@ -0,0 +1,59 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.MovieRatingStats;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MovieRatingStatsRepository extends JpaRepository<MovieRatingStats, Long> {
+
+    /**
+     * Aggregates and the user's own score for many movies in one query: primary-key joins on the stats
+     * and the (user_id, movie_id) unique index. Unknown imdbIds have no row; unrated movies have null sums.
+     */
+    @Query("""
+            select m.id as movieId, m.imdbId as imdbId, s.ratingSum as ratingSum, s.ratingCount as ratingCount,
+                   r.score as myScore
+            from Movie m
+            left join MovieRatingStats s on s.movieId = m.id
+            left join Rating r on r.movie = m and r.user.id = :userId
+            where m.imdbId in :imdbIds
+            """)
+    List<SummaryRow> findSummaries(@Param("imdbIds") Collection<String> imdbIds, @Param("userId") Long userId);
+
+    /** Rows of (movieId, ratingSum, ratingCount) for every rated movie, to rebuild in-memory rankings. */
+    @Query("select s.movieId, s.ratingSum, s.ratingCount from MovieRatingStats s")
+    List<Object[]> findAllTotals();
+
+    /**
+     * Adds the deltas to the movie's aggregates in one atomic statement, creating the row on the
+     * first rating; concurrent raters of the same movie never lose an update. Postgres only.
+     * Clears the persistence context so a following {@code findById} reads the new values.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert into movie_rating_stats (movie_id, rating_sum, rating_count)
+            values (:movieId, :sumDelta, :countDelta)
+            on conflict (movie_id) do update
+               set rating_sum = movie_rating_stats.rating_sum + excluded.rating_sum,
+                   rating_count = movie_rating_stats.rating_count + excluded.rating_count
+            """,
+            nativeQuery = true)
+    int applyDelta(@Param("movieId") Long movieId,
+                   @Param("sumDelta") long sumDelta,
+                   @Param("countDelta") long countDelta);
+
+    interface SummaryRow {
+        Long getMovieId();
+
+        String getImdbId();
+
+        Long getRatingSum();
+
+        Long getRatingCount();
+
+        Integer getMyScore();
+    }
+}
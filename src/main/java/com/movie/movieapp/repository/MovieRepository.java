@@ -4,13 +4,78 @@ package com.movie.movieapp.repository;
 import com.movie.movieapp.entity.Movie;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
     Movie findByImdbId(String imdbId);
     boolean existsByImdbId(String imdbId);
+
+    /** Resolves an imdbId from the unique index alone, without loading the movie. */
+    @Query("select m.id from Movie m where m.imdbId = :imdbId")
+    Long findIdByImdbId(@Param("imdbId") String imdbId);
+
+    @Query("select m.id from Movie m where m.imdbId in :imdbIds")
+    List<Long> findIdsByImdbIdIn(@Param("imdbIds") Collection<String> imdbIds);
+
+    @Query("select m.imdbId from Movie m where m.imdbId in :imdbIds")
+    Set<String> findExistingImdbIds(@Param("imdbIds") Collection<String> imdbIds);
+
+    /** Keyset-paged scan in id order, for loading the whole catalog in batches. */
+    List<Movie> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     int deleteByImdbId(String imdbId);
     int deleteByImdbIdIn(List<String> imdbIds);
-    Page<Movie> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    // listing pages are Slices: totals come from the configured MovieCounter, not a count per page
+    Slice<Movie> findAllBy(Pageable pageable);
+    Slice<Movie> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    long countByTitleContainingIgnoreCase(String title);
+
+    /** First keyset page in (title, id) order; returns a Slice, so no count query runs. */
+    @Query("""
+            select m from Movie m
+            where lower(m.title) like :titlePattern escape '\\'
+            order by m.title, m.id
+            """)
+    Slice<Movie> findFirstByTitleOrder(@Param("titlePattern") String titlePattern, Pageable pageable);
+
+    /** Keyset page after the given (title, id); seeks on the (title, id) index whatever the depth. */
+    @Query("""
+            select m from Movie m
+            where lower(m.title) like :titlePattern escape '\\'
+              and (m.title, m.id) > (:title, :id)
+            order by m.title, m.id
+            """)
+    Slice<Movie> findAfterByTitleOrder(@Param("titlePattern") String titlePattern,
+                                       @Param("title") String title,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * Full-text match on the weighted search vector (title, director, actors, genre) or a title
+     * substring match, best ranked first. Postgres only, see {@code MovieSearchSchema}.
+     * The pageable must be unsorted: the order is part of the query.
+     */
+    @Query(value = """
+            select m.* from movie m
+            where m.search_vector @@ to_tsquery('simple', :tsQuery)
+               or lower(m.title) like :titlePattern
+            order by ts_rank_cd(m.search_vector, to_tsquery('simple', :tsQuery), 1) desc, m.title, m.id
+            """,
+            nativeQuery = true)
+    Slice<Movie> searchRanked(@Param("tsQuery") String tsQuery,
+                              @Param("titlePattern") String titlePattern,
+                              Pageable pageable);
+
+    @Query(value = """
+            select count(*) from movie m
+            where m.search_vector @@ to_tsquery('simple', :tsQuery)
+               or lower(m.title) like :titlePattern
+            """,
+            nativeQuery = true)
+    long countRanked(@Param("tsQuery") String tsQuery, @Param("titlePattern") String titlePattern);
 }
@@ -4,15 +4,57 @@ import com.movie.movieapp.entity.Rating;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
+
 public interface RatingRepository extends JpaRepository<Rating, Long> {
 
-    Rating findByUserIdAndMovieImdbId(Long userId, String imdbId);
+    Rating findByUserIdAndMovieId(Long userId, Long movieId);
+
+    /** Rows of (movieId, day, ratings last written that day) since the given instant. */
+    @Query("""
+            select r.movie.id, cast(r.updatedAt as LocalDate), count(r) from Rating r
+            where r.updatedAt >= :since
+            group by r.movie.id, cast(r.updatedAt as LocalDate)
+            """)
+    List<Object[]> countWritesByMovieAndDay(@Param("since") Instant since);
+
+    /**
+     * Inserts or updates the user's rating in one statement. An existing row is locked first, so the
+     * previous score reported is exact even under concurrent writes. A null {@code score} in the result
+     * means a concurrent first rating of the same (user, movie) won the insert; retrying then updates
+     * it. Postgres only.
+     */
+    @Query(value = """
+            with old as (
+                select id, score from rating where user_id = :userId and movie_id = :movieId for update
+            ), updated as (
+                update rating r set score = :score, updated_at = now()
+                from old where r.id = old.id
+                returning r.score, old.score as previous
+            ), inserted as (
+                insert into rating (id, user_id, movie_id, score, created_at, updated_at)
+                select nextval('rating_seq'), :userId, :movieId, :score, now(), now()
+                where not exists (select 1 from old)
+                on conflict (user_id, movie_id) do nothing
+                returning score
+            )
+            select coalesce((select score from updated), (select score from inserted)) as score,
+                   (select previous from updated) as previous
+            """,
+            nativeQuery = true)
+    Upserted upsert(@Param("userId") Long userId, @Param("movieId") Long movieId, @Param("score") int score);
 
-    @Query("select avg(r.score) from Rating r where r.movie.imdbId = :imdbId")
-    Double averageForMovie(@Param("imdbId") String imdbId);
+    /** Deletes the user's rating and returns its score, or null if there was none. Postgres only. */
+    @Query(value = "delete from rating where user_id = :userId and movie_id = :movieId returning score",
+            nativeQuery = true)
+    Integer deleteReturningScore(@Param("userId") Long userId, @Param("movieId") Long movieId);
 
-    @Query("select count(r) from Rating r where r.movie.imdbId = :imdbId")
-    long countForMovie(@Param("imdbId") String imdbId);
+    interface Upserted {
+        /** The stored score, null if the statement lost an insert race and must be retried. */
+        Integer getScore();
 
-    void deleteByUserIdAndMovieImdbId(Long userId, String imdbId);
+        /** The score before this write, null for a first rating. */
+        Integer getPrevious();
+    }
 }
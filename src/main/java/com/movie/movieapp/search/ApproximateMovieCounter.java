@@ -0,0 +1,83 @@
+package com.movie.movieapp.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.movieapp.config.SearchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+
+/**
+ * Postgres planner estimates instead of {@code count(*)}: {@code pg_class.reltuples} for the whole
+ * catalog and the row estimate of an EXPLAIN of the search predicate otherwise. Falls back to the
+ * given counter on other databases or when the table has never been analyzed.
+ */
+@Slf4j
+public class ApproximateMovieCounter implements MovieCounter {
+
+    private static final String TABLE_ESTIMATE = "select reltuples::bigint from pg_class where oid = 'movie'::regclass";
+    private static final String LIKE_PLAN = "explain (format json) select 1 from movie m where lower(m.title) like ?";
+    private static final String FULL_TEXT_PLAN = "explain (format json) select 1 from movie m "
+            + "where m.search_vector @@ to_tsquery('simple', ?) or lower(m.title) like ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final SearchProperties.Engine engine;
+    private final MovieCounter fallback;
+    private volatile Boolean postgres;
+
+    public ApproximateMovieCounter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                   SearchProperties.Engine engine, MovieCounter fallback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.engine = engine;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public MovieCount count(String search) {
+        if (!isPostgres()) return fallback.count(search);
+        try {
+            long estimate = search == null ? tableEstimate() : planEstimate(search);
+            return estimate < 0 ? fallback.count(search) : MovieCount.estimate(estimate);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Movie count estimate failed, counting exactly: {}", e.getMessage());
+            return fallback.count(search);
+        }
+    }
+
+    /** -1 until the table has been analyzed. */
+    private long tableEstimate() {
+        Long rows = jdbcTemplate.queryForObject(TABLE_ESTIMATE, Long.class);
+        return rows == null ? -1 : rows;
+    }
+
+    private long planEstimate(String search) throws JsonProcessingException {
+        String plan = engine == SearchProperties.Engine.LIKE
+                ? jdbcTemplate.queryForObject(LIKE_PLAN, String.class, SearchText.containsPattern(search))
+                : jdbcTemplate.queryForObject(FULL_TEXT_PLAN, String.class,
+                        SearchText.prefixTsQuery(search), SearchText.containsPattern(search));
+        JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+        return rows.isNumber() ? rows.asLong() : -1;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                result = "PostgreSQL".equals(product);
+            } catch (MetaDataAccessException e) {
+                result = false;
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.movie.movieapp.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Remembers exact counts per search term for a short TTL. A freshly computed count is reported
+ * as exact; one served from the cache may miss writes since, so it is not.
+ */
+public class CachedMovieCounter implements MovieCounter {
+
+    private static final String ALL = "";
+
+    private final MovieCounter delegate;
+    private final Cache<String, Long> counts;
+
+    public CachedMovieCounter(MovieCounter delegate, Duration ttl, long maxEntries) {
+        this.delegate = delegate;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    @Override
+    public MovieCount count(String search) {
+        String key = search == null ? ALL : "?" + search.trim().toLowerCase(Locale.ROOT);
+        Long cached = counts.getIfPresent(key);
+        if (cached != null) return MovieCount.estimate(cached);
+
+        MovieCount fresh = delegate.count(search);
+        counts.put(key, fresh.total());
+        return fresh;
+    }
+}
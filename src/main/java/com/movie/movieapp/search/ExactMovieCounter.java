@@ -0,0 +1,22 @@
+package com.movie.movieapp.search;
+
+import com.movie.movieapp.config.SearchProperties;
+import com.movie.movieapp.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ExactMovieCounter implements MovieCounter {
+
+    private final MovieRepository movieRepository;
+    private final SearchProperties.Engine engine;
+
+    @Override
+    public MovieCount count(String search) {
+        if (search == null) return MovieCount.exact(movieRepository.count());
+        long total = switch (engine) {
+            case LIKE -> movieRepository.countByTitleContainingIgnoreCase(search);
+            case FULL_TEXT, MEMORY -> movieRepository.countRanked(SearchText.prefixTsQuery(search), SearchText.containsPattern(search));
+        };
+        return MovieCount.exact(total);
+    }
+}
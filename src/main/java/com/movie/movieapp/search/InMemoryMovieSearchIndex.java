@@ -0,0 +1,412 @@
+package com.movie.movieapp.search;
+
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.repository.MovieRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over title, director, actors and genre.
+ * <p>
+ * Every indexed movie gets an int doc id (new ids only grow, so posting lists stay sorted by appending);
+ * each term maps to a posting list of doc ids plus a bit mask of the fields it occurs in. Replaced
+ * or removed movies leave dead ids behind that are skipped at query time; once they pile up the live
+ * docs are renumbered densely, in their existing order, so the id space stays as large as the catalog.
+ * A query term matches indexed terms exactly, as a prefix, or (when neither hits) within one or two
+ * edits; a movie must match every query term and is scored by match kind and field.
+ */
+@Slf4j
+public class InMemoryMovieSearchIndex implements MovieSearchIndex {
+
+    private static final int TITLE = 1, DIRECTOR = 2, ACTORS = 4, GENRE = 8;
+    private static final float[] FIELD_WEIGHT = new float[16];
+    static {
+        for (int mask = 0; mask < 16; mask++) {
+            FIELD_WEIGHT[mask] = ((mask & TITLE) != 0 ? 4f : 0f) + ((mask & DIRECTOR) != 0 ? 2f : 0f)
+                    + ((mask & ACTORS) != 0 ? 1.5f : 0f) + ((mask & GENRE) != 0 ? 1f : 0f);
+        }
+    }
+
+    private static final float EXACT = 1f, PREFIX = 0.6f, FUZZY = 0.4f;
+    private static final int MAX_EXPANSIONS = 128;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int COMPACT_MIN_DEAD = 1024;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final MovieRepository movieRepository;
+    private final MovieMapper movieMapper;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docByImdbId = new HashMap<>();
+    /** Summary per doc id; null for dead ids. */
+    private MovieSummaryDTO[] docs = new MovieSummaryDTO[1024];
+    private int nextDoc;
+    private int deadDocs;
+    /**
+     * imdbIds indexed or removed while a rebuild is reading, whose loaded rows are older than what the index
+     * already holds and must be skipped; null otherwise. Guarded by the write lock.
+     */
+    private Set<String> changedDuringRebuild;
+
+    public InMemoryMovieSearchIndex(MovieRepository movieRepository, MovieMapper movieMapper) {
+        this.movieRepository = movieRepository;
+        this.movieMapper = movieMapper;
+    }
+
+    /**
+     * Loads the whole catalog, in id order and small batches, once the app is up. Batches are read outside
+     * the lock, so movies indexed or removed in the meantime are left as those calls put them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long lastId = 0;
+            List<Movie> batch;
+            do {
+                batch = movieRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+                load(batch);
+                if (!batch.isEmpty()) lastId = batch.get(batch.size() - 1).getId();
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Movie search index built with {} movies and {} terms in {} ms",
+                size(), termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Page<MovieSummaryDTO> search(String text, Pageable pageable) {
+        List<String> tokens = SearchText.tokens(text);
+        if (tokens.isEmpty()) return Page.empty(pageable);
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Matches matches = null;
+            for (String token : new LinkedHashSet<>(tokens)) {
+                Matches tokenMatches = match(token);
+                matches = matches == null ? tokenMatches : matches.intersect(tokenMatches);
+                if (matches.size == 0) return Page.empty(pageable);
+            }
+            for (int i = 0; i < matches.size; i++) {
+                MovieSummaryDTO doc = docs[matches.docs[i]];
+                if (doc != null) hits.add(new Hit(doc, matches.scores[i]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Hit.ORDER);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<MovieSummaryDTO> content = hits.subList(from, to).stream().map(Hit::movie).toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    @Override
+    public void index(Collection<Movie> movies) {
+        if (movies.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            for (Movie movie : movies) {
+                if (movie.getImdbId() == null) continue;
+                if (changedDuringRebuild != null) changedDuringRebuild.add(movie.getImdbId());
+                replace(movie);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Collection<String> imdbIds) {
+        if (imdbIds.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            for (String imdbId : imdbIds) {
+                if (changedDuringRebuild != null) changedDuringRebuild.add(imdbId);
+                Integer doc = docByImdbId.remove(imdbId);
+                if (doc != null) kill(doc);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByImdbId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Upper bound of the doc ids handed out so far, live or dead. */
+    int docIdSpace() {
+        lock.readLock().lock();
+        try {
+            return nextDoc;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Indexes a batch read by the rebuild, skipping movies changed since it started. */
+    private void load(List<Movie> batch) {
+        if (batch.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            for (Movie movie : batch) {
+                if (movie.getImdbId() == null || changedDuringRebuild.contains(movie.getImdbId())) continue;
+                replace(movie);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(Movie movie) {
+        Integer previous = docByImdbId.get(movie.getImdbId());
+        if (previous != null) kill(previous);
+        add(movie);
+    }
+
+    private void add(Movie movie) {
+        int doc = nextDoc++;
+        if (doc == docs.length) docs = Arrays.copyOf(docs, docs.length * 2);
+        docs[doc] = movieMapper.toSummary(movie);
+        docByImdbId.put(movie.getImdbId(), doc);
+
+        Map<String, Integer> fieldsByTerm = new HashMap<>();
+        collect(fieldsByTerm, movie.getTitle(), TITLE);
+        collect(fieldsByTerm, movie.getDirector(), DIRECTOR);
+        collect(fieldsByTerm, movie.getActors(), ACTORS);
+        collect(fieldsByTerm, movie.getGenre(), GENRE);
+        fieldsByTerm.forEach((term, fields) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, fields));
+    }
+
+    private static void collect(Map<String, Integer> fieldsByTerm, String text, int field) {
+        for (String token : SearchText.tokens(text)) {
+            fieldsByTerm.merge(token, field, (a, b) -> a | b);
+        }
+    }
+
+    private void kill(int doc) {
+        docs[doc] = null;
+        deadDocs++;
+    }
+
+    private void compactIfNeeded() {
+        if (deadDocs < Math.max(COMPACT_MIN_DEAD, docByImdbId.size() / 4)) return;
+        int[] newIds = new int[nextDoc];
+        MovieSummaryDTO[] live = new MovieSummaryDTO[Math.max(1024, Integer.highestOneBit(docByImdbId.size()) * 2)];
+        int n = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (docs[doc] == null) {
+                newIds[doc] = -1;
+            } else {
+                newIds[doc] = n;
+                live[n++] = docs[doc];
+            }
+        }
+        Iterator<Postings> it = terms.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            postings.renumber(newIds);
+            if (postings.size == 0) it.remove();
+        }
+        docByImdbId.replaceAll((imdbId, doc) -> newIds[doc]);
+        log.debug("Movie search index compacted, dropped {} dead docs", nextDoc - n);
+        docs = live;
+        nextDoc = n;
+        deadDocs = 0;
+    }
+
+    /** Union of the postings of every indexed term the query token matches, best score per doc. */
+    private Matches match(String token) {
+        List<Postings> lists = new ArrayList<>();
+        List<Float> boosts = new ArrayList<>();
+
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            lists.add(exact);
+            boosts.add(EXACT);
+        }
+        for (Postings p : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (lists.size() >= MAX_EXPANSIONS) break;
+            lists.add(p);
+            boosts.add(PREFIX);
+        }
+        if (lists.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Postings> e : terms.subMap(first, true, first + Character.MAX_VALUE, true).entrySet()) {
+                if (lists.size() >= MAX_EXPANSIONS) break;
+                String term = e.getKey();
+                if (Math.abs(term.length() - token.length()) <= maxEdits && withinEdits(token, term, maxEdits)) {
+                    lists.add(e.getValue());
+                    boosts.add(FUZZY);
+                }
+            }
+        }
+        return Matches.union(lists, boosts);
+    }
+
+    /** Levenshtein distance &lt;= max, giving up as soon as a whole row exceeds it. */
+    static boolean withinEdits(String a, String b, int max) {
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return false;
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[b.length()] <= max;
+    }
+
+    /** Growable, sorted doc ids with the fields each occurrence came from. */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        void add(int doc, int fieldMask) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            docs[size] = doc;
+            fields[size] = (byte) fieldMask;
+            size++;
+        }
+
+        /** Drops docs mapped to -1 and rewrites the rest; the mapping keeps order, so the list stays sorted. */
+        void renumber(int[] newIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newIds[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    fields[kept] = fields[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /** Doc ids in ascending order with their scores. */
+    private record Matches(int[] docs, float[] scores, int size) {
+
+        static Matches union(List<Postings> lists, List<Float> boosts) {
+            if (lists.size() == 1) {
+                Postings p = lists.get(0);
+                float[] scores = new float[p.size];
+                for (int i = 0; i < p.size; i++) scores[i] = boosts.get(0) * FIELD_WEIGHT[p.fields[i]];
+                return new Matches(p.docs, scores, p.size);
+            }
+            int total = 0;
+            for (Postings p : lists) total += p.size;
+            // doc in the high half, non-negative float bits (which sort like the floats) in the low half
+            long[] packed = new long[total];
+            int n = 0;
+            for (int l = 0; l < lists.size(); l++) {
+                Postings p = lists.get(l);
+                float boost = boosts.get(l);
+                for (int i = 0; i < p.size; i++) {
+                    packed[n++] = ((long) p.docs[i] << 32) | Float.floatToIntBits(boost * FIELD_WEIGHT[p.fields[i]]);
+                }
+            }
+            Arrays.sort(packed);
+            int[] docs = new int[total];
+            float[] scores = new float[total];
+            int size = 0;
+            for (int i = 0; i < total; i++) {
+                int doc = (int) (packed[i] >>> 32);
+                float score = Float.intBitsToFloat((int) packed[i]);
+                if (size > 0 && docs[size - 1] == doc) {
+                    scores[size - 1] = score; // sorted ascending, so the last one is the best
+                } else {
+                    docs[size] = doc;
+                    scores[size] = score;
+                    size++;
+                }
+            }
+            return new Matches(docs, scores, size);
+        }
+
+        Matches intersect(Matches other) {
+            int[] outDocs = new int[Math.min(size, other.size)];
+            float[] outScores = new float[outDocs.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                int a = docs[i], b = other.docs[j];
+                if (a == b) {
+                    outDocs[n] = a;
+                    outScores[n] = scores[i] + other.scores[j];
+                    n++;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return new Matches(outDocs, outScores, n);
+        }
+    }
+
+    private record Hit(MovieSummaryDTO movie, float score) {
+        static final Comparator<Hit> ORDER = Comparator.comparingDouble((Hit h) -> -h.score())
+                .thenComparing(h -> h.movie().title(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(h -> h.movie().imdbId());
+    }
+}
@@ -0,0 +1,13 @@
+package com.movie.movieapp.search;
+
+/** Number of movies matching a listing, and whether it is known to be exact. */
+public record MovieCount(long total, boolean exact) {
+
+    public static MovieCount exact(long total) {
+        return new MovieCount(total, true);
+    }
+
+    public static MovieCount estimate(long total) {
+        return new MovieCount(total, false);
+    }
+}
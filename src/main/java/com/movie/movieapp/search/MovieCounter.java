@@ -0,0 +1,10 @@
+package com.movie.movieapp.search;
+
+/**
+ * Total for a movie listing: the whole catalog when {@code search} is null, otherwise the movies
+ * the configured database search engine would match for it.
+ */
+public interface MovieCounter {
+
+    MovieCount count(String search);
+}
@@ -0,0 +1,24 @@
+package com.movie.movieapp.search;
+
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.entity.Movie;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+
+/**
+ * Text search over the movie catalog, kept in sync by the services that write movies.
+ */
+public interface MovieSearchIndex {
+
+    /** Ranked matches of every term in {@code text} (prefix and typo tolerant), best first. */
+    Page<MovieSummaryDTO> search(String text, Pageable pageable);
+
+    /** Adds the movies, replacing any already indexed under the same imdbId. */
+    void index(Collection<Movie> movies);
+
+    void remove(Collection<String> imdbIds);
+
+    int size();
+}
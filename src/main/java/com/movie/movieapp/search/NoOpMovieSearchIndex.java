@@ -0,0 +1,30 @@
+package com.movie.movieapp.search;
+
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.entity.Movie;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+
+/** Used when search is served by the database; writes are ignored. */
+public class NoOpMovieSearchIndex implements MovieSearchIndex {
+
+    @Override
+    public Page<MovieSummaryDTO> search(String text, Pageable pageable) {
+        return Page.empty(pageable);
+    }
+
+    @Override
+    public void index(Collection<Movie> movies) {
+    }
+
+    @Override
+    public void remove(Collection<String> imdbIds) {
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.movie.movieapp.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns free search text into terms and into the query forms the search backends understand.
+ * Terms are case-folded runs of letters and digits; everything else separates them.
+ */
+public final class SearchText {
+
+    private SearchText() {
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /** Postgres {@code to_tsquery} input matching every term as a prefix, e.g. {@code dark:* & knig:*}. */
+    public static String prefixTsQuery(String text) {
+        return String.join(" & ", tokens(text).stream().map(t -> t + ":*").toList());
+    }
+
+    /** Case-folded {@code %term%} pattern with LIKE wildcards in the term escaped. */
+    public static String containsPattern(String text) {
+        String folded = text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + folded + "%";
+    }
+}
@@ -0,0 +1,217 @@
+package com.movie.movieapp.service;
+
+import com.movie.movieapp.common.DTO.ImportJobDTO;
+import com.movie.movieapp.common.DTO.ImportMovieRequestDTO;
+import com.movie.movieapp.common.DTO.ImportResultDTO;
+import com.movie.movieapp.common.exception.customException.NotFoundException;
+import com.movie.movieapp.entity.ImportJob;
+import com.movie.movieapp.entity.ImportJobItem;
+import com.movie.movieapp.model.ImportJobStatus;
+import com.movie.movieapp.model.ImportStatus;
+import com.movie.movieapp.repository.ImportJobItemRepository;
+import com.movie.movieapp.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Background OMDb imports. A job and its ids are stored before processing starts, every result is
+ * written back as soon as it is known, so jobs left RUNNING by a restart are resumed from their pending ids.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private static final long STREAM_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobItemRepository itemRepository;
+    private final MovieImportService movieImportService;
+    @Qualifier("importJobExecutor")
+    private final Executor importJobExecutor;
+    private final TransactionOperations transactionOperations;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public ImportJobDTO submit(ImportMovieRequestDTO request) {
+        if (request == null || request.imdbIds() == null || request.imdbIds().isEmpty()) {
+            throw new IllegalArgumentException("imdbIds must not be empty");
+        }
+        List<String> ids = request.imdbIds();
+        ImportJob job = transactionOperations.execute(status -> {
+            ImportJob saved = jobRepository.save(ImportJob.builder()
+                    .status(ImportJobStatus.RUNNING)
+                    .total(ids.size())
+                    .build());
+            List<ImportJobItem> items = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                items.add(ImportJobItem.builder().job(saved).position(i).imdbId(ids.get(i)).build());
+            }
+            itemRepository.saveAll(items);
+            return saved;
+        });
+        log.info("Import job {} submitted with {} ids", job.getId(), ids.size());
+        importJobExecutor.execute(() -> run(job.getId()));
+        return toDTO(job, Map.of());
+    }
+
+    public ImportJobDTO getStatus(Long jobId) {
+        return toDTO(findJob(jobId), countByStatus(jobId));
+    }
+
+    /**
+     * Streams every result of the job as an SSE "result" event (event id = position in the request),
+     * starting with the ones already finished, then a final "done" event with the job status.
+     */
+    public SseEmitter stream(Long jobId) {
+        ImportJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter, job.getTotal());
+
+        List<Subscriber> jobSubscribers = subscribers.computeIfAbsent(jobId, k -> new CopyOnWriteArrayList<>());
+        jobSubscribers.add(subscriber);
+        emitter.onCompletion(() -> jobSubscribers.remove(subscriber));
+        emitter.onTimeout(() -> jobSubscribers.remove(subscriber));
+
+        for (ImportJobItem item : itemRepository.findByJobIdAndStatusIsNotNullOrderByPosition(jobId)) {
+            subscriber.send(item.getPosition(), toResult(item));
+        }
+        ImportJob current = findJob(jobId);
+        if (current.getStatus() != ImportJobStatus.RUNNING) {
+            jobSubscribers.remove(subscriber);
+            subscribers.remove(jobId, List.<Subscriber>of());
+            subscriber.finish(toDTO(current, countByStatus(jobId)));
+        }
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (ImportJob job : jobRepository.findByStatus(ImportJobStatus.RUNNING)) {
+            log.info("Resuming unfinished import job {}", job.getId());
+            importJobExecutor.execute(() -> run(job.getId()));
+        }
+    }
+
+    void run(Long jobId) {
+        ImportJobStatus outcome = ImportJobStatus.COMPLETED;
+        try {
+            List<ImportJobItem> pending = itemRepository.findByJobIdAndStatusIsNullOrderByPosition(jobId);
+            List<String> ids = pending.stream().map(ImportJobItem::getImdbId).toList();
+            if (!ids.isEmpty()) {
+                movieImportService.importByImdbIds(ids, (index, result) -> {
+                    ImportJobItem item = pending.get(index);
+                    itemRepository.complete(item.getId(), result.getStatus(), truncate(result.getMessage()));
+                    publish(jobId, item.getPosition(), result);
+                });
+            }
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed", jobId, e);
+            outcome = ImportJobStatus.FAILED;
+        }
+        finish(jobId, outcome);
+    }
+
+    private void finish(Long jobId, ImportJobStatus outcome) {
+        ImportJob job = transactionOperations.execute(status -> {
+            ImportJob j = findJob(jobId);
+            j.setStatus(outcome);
+            j.setFinishedAt(Instant.now());
+            return jobRepository.save(j);
+        });
+        log.info("Import job {} finished with status {}", jobId, outcome);
+        List<Subscriber> jobSubscribers = subscribers.remove(jobId);
+        if (jobSubscribers != null) {
+            ImportJobDTO summary = toDTO(job, countByStatus(jobId));
+            jobSubscribers.forEach(s -> s.finish(summary));
+        }
+    }
+
+    private void publish(Long jobId, int position, ImportResultDTO result) {
+        List<Subscriber> jobSubscribers = subscribers.get(jobId);
+        if (jobSubscribers == null) return;
+        for (Subscriber s : jobSubscribers) {
+            if (!s.send(position, result)) {
+                jobSubscribers.remove(s);
+            }
+        }
+    }
+
+    private ImportJob findJob(Long jobId) {
+        return jobRepository.findById(jobId).orElseThrow(() -> new NotFoundException("Import job not found"));
+    }
+
+    private Map<ImportStatus, Long> countByStatus(Long jobId) {
+        Map<ImportStatus, Long> counts = new EnumMap<>(ImportStatus.class);
+        for (Object[] row : itemRepository.countByStatus(jobId)) {
+            if (row[0] != null) counts.put((ImportStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static ImportJobDTO toDTO(ImportJob job, Map<ImportStatus, Long> counts) {
+        long added = counts.getOrDefault(ImportStatus.ADDED, 0L);
+        long exists = counts.getOrDefault(ImportStatus.EXISTS, 0L);
+        long failed = counts.getOrDefault(ImportStatus.FAILED, 0L);
+        long pending = Math.max(0, job.getTotal() - added - exists - failed);
+        return new ImportJobDTO(job.getId(), job.getStatus(), job.getTotal(), added, exists, failed, pending,
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+
+    private static ImportResultDTO toResult(ImportJobItem item) {
+        return new ImportResultDTO(item.getImdbId(), item.getStatus(), item.getMessage());
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 512 ? message : message.substring(0, 512);
+    }
+
+    /** One SSE client; remembers which positions it already got so replay and live events never overlap. */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BitSet sent;
+        private boolean finished;
+
+        Subscriber(SseEmitter emitter, int total) {
+            this.emitter = emitter;
+            this.sent = new BitSet(total);
+        }
+
+        synchronized boolean send(int position, ImportResultDTO result) {
+            if (finished || sent.get(position)) return true;
+            try {
+                emitter.send(SseEmitter.event().name("result").id(String.valueOf(position)).data(result));
+                sent.set(position);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        synchronized void finish(ImportJobDTO summary) {
+            if (finished) return;
+            finished = true;
+            try {
+                emitter.send(SseEmitter.event().name("done").data(summary));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.movie.movieapp.service;
+
+import com.movie.movieapp.entity.Movie;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Position in the (title, id) ordering of movies, handed to clients as an opaque string. */
+record MovieCursor(String title, long id) {
+
+    static MovieCursor after(Movie movie) {
+        return new MovieCursor(movie.getTitle(), movie.getId());
+    }
+
+    String encode() {
+        byte[] raw = (id + ":" + title).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static MovieCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new MovieCursor(raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.movie.movieapp.service;
+
+import com.movie.movieapp.common.DTO.ImportMovieRequestDTO;
+import com.movie.movieapp.common.DTO.ImportResultDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import com.movie.movieapp.config.ImportProperties;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.ImportStatus;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.omdb.OmdbClient;
+import com.movie.movieapp.repository.MovieRepository;
+import com.movie.movieapp.search.MovieSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Imports movies from OMDb by imdbId.
+ * Detail fetches run concurrently on a bounded executor, existence is checked once for the whole
+ * request and new movies are persisted in small batches, each in its own short transaction.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MovieImportService {
+
+    private final MovieRepository movieRepository;
+    private final OmdbClient omdbClient;
+    private final MovieMapper movieMapper;
+    private final ImportProperties importProperties;
+    @Qualifier("omdbImportExecutor")
+    private final Executor omdbImportExecutor;
+    private final TransactionOperations transactionOperations;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MeterRegistry meterRegistry;
+
+    public List<ImportResultDTO> importByImdbIds(ImportMovieRequestDTO request) {
+        if (request == null || request.imdbIds() == null || request.imdbIds().isEmpty()) {
+            throw new IllegalArgumentException("imdbIds must not be empty");
+        }
+        return importByImdbIds(request.imdbIds(), (position, result) -> { });
+    }
+
+    /**
+     * Imports the given ids, reporting each result to {@code onResult} (with its index in {@code rawIds})
+     * as soon as it is final. The callback runs on the calling thread.
+     */
+    public List<ImportResultDTO> importByImdbIds(List<String> rawIds, BiConsumer<Integer, ImportResultDTO> onResult) {
+        ImportRun run = new ImportRun(new ImportResultDTO[rawIds.size()], (position, result) -> {
+            meterRegistry.counter("movies.import.results", "status", result.getStatus().name()).increment();
+            onResult.accept(position, result);
+        });
+
+        // index of the first occurrence of each distinct id, in input order
+        Map<String, Integer> toImport = new LinkedHashMap<>();
+        for (int i = 0; i < rawIds.size(); i++) {
+            String id = normalizeOrNull(rawIds.get(i));
+            if (id == null) {
+                run.complete(i, failed(null, "Empty imdbId"));
+            } else if (toImport.putIfAbsent(id, i) != null) {
+                run.complete(i, exists(id, "Duplicated in same request"));
+            }
+        }
+
+        if (!toImport.isEmpty()) {
+            Set<String> existing = movieRepository.findExistingImdbIds(toImport.keySet());
+            Map<String, CompletableFuture<OmdbMovieDTO>> fetches = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> e : toImport.entrySet()) {
+                String id = e.getKey();
+                if (existing.contains(id)) {
+                    log.info("Movie with imdbId {} already exists, skipping", id);
+                    run.complete(e.getValue(), exists(id, "Already in database"));
+                } else {
+                    fetches.put(id, CompletableFuture.supplyAsync(() -> omdbClient.getById(id), omdbImportExecutor));
+                }
+            }
+            persistFetched(fetches, toImport, run);
+        }
+        return Arrays.asList(run.results());
+    }
+
+    private void persistFetched(Map<String, CompletableFuture<OmdbMovieDTO>> fetches,
+                                Map<String, Integer> positions, ImportRun run) {
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        for (Map.Entry<String, CompletableFuture<OmdbMovieDTO>> e : fetches.entrySet()) {
+            String id = e.getKey();
+            try {
+                batch.add(new Pending(positions.get(id), id, movieMapper.toEntity(e.getValue().join())));
+            } catch (CompletionException ex) {
+                run.complete(positions.get(id), fetchFailure(id, ex.getCause()));
+                continue;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error importing movie with imdbId {}", id, ex);
+                run.complete(positions.get(id), failed(id, "Unexpected error"));
+                continue;
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, run);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, run);
+        }
+    }
+
+    private void flush(List<Pending> batch, ImportRun run) {
+        List<Movie> movies = batch.stream().map(Pending::movie).toList();
+        try {
+            transactionOperations.executeWithoutResult(status -> movieRepository.saveAll(movies));
+            movieSearchIndex.index(movies);
+            for (Pending p : batch) {
+                run.complete(p.position(), added(p.imdbId(), "Imported successfully"));
+            }
+            log.info("Imported batch of {} movies", batch.size());
+        } catch (RuntimeException batchError) {
+            // one bad row rolls back the whole batch; retry row by row to isolate it
+            log.warn("Batch insert of {} movies failed, retrying one by one: {}", batch.size(), batchError.getMessage());
+            for (Pending p : batch) {
+                run.complete(p.position(), saveOne(p));
+            }
+        }
+    }
+
+    private ImportResultDTO saveOne(Pending p) {
+        String id = p.imdbId();
+        Movie movie = p.movie();
+        try {
+            movie.setId(null);
+            transactionOperations.executeWithoutResult(status -> movieRepository.save(movie));
+            movieSearchIndex.index(List.of(movie));
+            return added(id, "Imported successfully");
+        } catch (DataIntegrityViolationException e) {
+            return exists(id, "Already in database");
+        } catch (RuntimeException e) {
+            log.error("Unexpected error importing movie with imdbId {}", id, e);
+            return failed(id, "Unexpected error");
+        }
+    }
+
+    private ImportResultDTO fetchFailure(String id, Throwable cause) {
+        if (cause instanceof ExternalApiException) {
+            return failed(id, cause.getMessage());
+        }
+        log.error("Unexpected error importing movie with imdbId {}", id, cause);
+        return failed(id, "Unexpected error");
+    }
+
+    private String normalizeOrNull(String raw) {
+        if (raw == null) return null;
+        String rawValue = raw.trim();
+        return rawValue.isEmpty() ? null : rawValue;
+    }
+
+    private record Pending(int position, String imdbId, Movie movie) {}
+
+    private record ImportRun(ImportResultDTO[] results, BiConsumer<Integer, ImportResultDTO> onResult) {
+        void complete(int position, ImportResultDTO result) {
+            results[position] = result;
+            onResult.accept(position, result);
+        }
+    }
+
+    private static ImportResultDTO added(String id, String message) {
+        return new ImportResultDTO(id, ImportStatus.ADDED, message);
+    }
+    private static ImportResultDTO exists(String id, String message) {
+        return new ImportResultDTO(id, ImportStatus.EXISTS, message);
+    }
+    private static ImportResultDTO failed(String id, String message) {
+        return new ImportResultDTO(id, ImportStatus.FAILED, message);
+    }
+}
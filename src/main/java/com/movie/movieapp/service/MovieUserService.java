@@ -1,19 +1,26 @@
 package com.movie.movieapp.service;
 
 import com.movie.movieapp.common.DTO.*;
-import com.movie.movieapp.common.exception.customException.ExternalApiException;
 import com.movie.movieapp.common.exception.customException.NotFoundException;
+import com.movie.movieapp.common.response.CursorPageResponse;
+import com.movie.movieapp.common.response.PageResponse;
+import com.movie.movieapp.config.SearchProperties;
 import com.movie.movieapp.entity.Movie;
-import com.movie.movieapp.model.ImportStatus;
 import com.movie.movieapp.model.MovieMapper;
 import com.movie.movieapp.omdb.OmdbClient;
+import com.movie.movieapp.rating.RatingLeaderboard;
 import com.movie.movieapp.repository.MovieRepository;
+import com.movie.movieapp.search.MovieCount;
+import com.movie.movieapp.search.MovieCounter;
+import com.movie.movieapp.search.MovieSearchIndex;
+import com.movie.movieapp.search.SearchText;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,67 +36,100 @@ public class MovieUserService {
     private final MovieRepository movieRepository;
     private final OmdbClient omdbClient;
     private final MovieMapper movieMapper;
+    private final MovieImportService movieImportService;
+    private final SearchProperties searchProperties;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieCounter movieCounter;
+    private final RatingService ratingService;
+    private final RatingLeaderboard ratingLeaderboard;
 
     public OmdbSearchResponseDTO searchOmdb(String query, int page) {
         return omdbClient.search(query, page);
     }
 
-    @Transactional
+    public OmdbStatsDTO getOmdbStats() {
+        return omdbClient.stats();
+    }
+
     public List<ImportResultDTO> importByImdbIds(ImportMovieRequestDTO request) {
-        if (request == null || request.imdbIds() == null || request.imdbIds().isEmpty()) {
-            throw new IllegalArgumentException("imdbIds must not be empty");
-        }
-        List<ImportResultDTO> results = new ArrayList<>(request.imdbIds().size());
-        Set<String> imported = new HashSet<>();
-        for (String raw : request.imdbIds()) {
-            String id = normalizeOrNull(raw);
-            if (id == null) {
-                results.add(failed(null, "Empty imdbId"));
-                continue;
-            }
-            if (!imported.add(id)) {
-                results.add(exists(id, "Duplicated in same request"));
-                continue;
-            }
-            results.add(importOneMovie(id));
-            log.info("Movie added to database Successfully");
-        }
-        return results;
+        return movieImportService.importByImdbIds(request);
     }
 
+    /**
+     * Offset-paginated movie summaries for {@code GET /movies}. Searches go to the in-memory index when it
+     * is the configured engine; otherwise the page is read as a Slice and the total comes from the
+     * {@link MovieCounter}, which may estimate it ({@code exactTotal} tells). With {@code includeRatings}
+     * each summary carries its rating summary, fetched for the whole page in one query.
+     */
+    public PageResponse<MovieSummaryDTO> getMovies(String search, int page1Based, int size, boolean includeRatings) {
+        PageResponse<MovieSummaryDTO> page = getMovies(search, page1Based, size);
+        if (!includeRatings || page.getContent().isEmpty()) return page;
+
+        Map<String, RatingSummaryDTO> ratings = ratingService.getSummaries(
+                page.getContent().stream().map(MovieSummaryDTO::imdbId).toList());
+        return page.toBuilder()
+                .content(page.getContent().stream()
+                        .map(m -> MovieSummaryDTO.of(m, ratings.get(m.imdbId())))
+                        .toList())
+                .build();
+    }
 
-    private ImportResultDTO importOneMovie(String imdbId) {
+    public PageResponse<MovieSummaryDTO> getMovies(String search, int page1Based, int size) {
+        int safeSize  = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int zeroBased = Math.max(page1Based - 1, 0);
+        String term = search == null || search.trim().isEmpty() ? null : search.trim();
 
-        if (movieRepository.existsByImdbId(imdbId)) {
-            log.info("Movie with imdbId {} already exists, skipping", imdbId);
-            return exists(imdbId, "Already in database");
+        if (term != null && searchProperties.getEngine() == SearchProperties.Engine.MEMORY) {
+            return PageResponse.of(movieSearchIndex.search(term, PageRequest.of(zeroBased, safeSize)));
+        }
+        Slice<Movie> slice = getMoviesFromDB(term, zeroBased, safeSize);
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        MovieCount count;
+        if (!slice.hasNext() && (slice.hasContent() || zeroBased == 0)) {
+            // on the last page the total is known without asking the counter
+            count = MovieCount.exact(seen);
+        } else {
+            count = movieCounter.count(term);
+            if (slice.hasContent() && count.total() <= seen) {
+                // an estimate must not contradict the rows just read: there is at least one more
+                count = MovieCount.estimate(seen + 1);
+            }
         }
+        Page<Movie> page = new PageImpl<>(slice.getContent(), slice.getPageable(), count.total());
+        return PageResponse.of(page, movieMapper::toSummary, count.exact());
+    }
 
-        try {
-            OmdbMovieDTO detail = omdbClient.getById(imdbId);
-            Movie entity = movieMapper.toEntity(detail);
-            movieRepository.save(entity);
-            return added(imdbId, "Imported successfully");
-        } catch (ExternalApiException e) {
-            return failed(imdbId, e.getMessage());
-        } catch (DataIntegrityViolationException e) {
-            return exists(imdbId, "Already in database");
-        } catch (RuntimeException e) {
-            log.error("Unexpected error importing movie with imdbId {}", imdbId, e);
-            return failed(imdbId, "Unexpected error");
+    private Slice<Movie> getMoviesFromDB(String term, int zeroBased, int size) {
+        if (term == null) {
+            return movieRepository.findAllBy(PageRequest.of(zeroBased, size, DEFAULT_SORT));
         }
+        return switch (searchProperties.getEngine()) {
+            case FULL_TEXT, MEMORY -> movieRepository.searchRanked(SearchText.prefixTsQuery(term),
+                    SearchText.containsPattern(term), PageRequest.of(zeroBased, size));
+            case LIKE -> movieRepository.findByTitleContainingIgnoreCase(term,
+                    PageRequest.of(zeroBased, size, DEFAULT_SORT));
+        };
     }
 
+    /**
+     * Keyset pagination in (title, id) order: constant cost per page at any depth and no count query.
+     * A blank cursor starts from the beginning; a search term filters on title substrings.
+     */
     @Transactional(readOnly = true)
-    public Page<Movie> getMoviesFromDB(String search, int page1Based, int size) {
-        int safeSize  = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
-        int zeroBased = Math.max(page1Based - 1, 0);
-        Pageable pageable = PageRequest.of(zeroBased, safeSize, DEFAULT_SORT);
-
-        if (search != null && !search.trim().isEmpty()) {
-            return movieRepository.findByTitleContainingIgnoreCase(search.trim(), pageable);
+    public CursorPageResponse<MovieSummaryDTO> getMoviesByCursor(String search, String cursor, int size) {
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String titlePattern = search == null || search.isBlank() ? "%" : SearchText.containsPattern(search);
+        Pageable limit = PageRequest.of(0, safeSize);
+
+        Slice<Movie> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = movieRepository.findFirstByTitleOrder(titlePattern, limit);
+        } else {
+            MovieCursor after = MovieCursor.decode(cursor.trim());
+            slice = movieRepository.findAfterByTitleOrder(titlePattern, after.title(), after.id(), limit);
         }
-        return movieRepository.findAll(pageable);
+        String next = slice.hasContent() ? MovieCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)).encode() : null;
+        return CursorPageResponse.of(slice.map(movieMapper::toSummary), next);
     }
 
     @Transactional(readOnly = true)
@@ -106,11 +146,16 @@ public class MovieUserService {
     @Transactional
     public void deleteMovie(String imdbId) {
         String id = requireImdbId(imdbId);
-        int deleted = movieRepository.deleteByImdbId(id);
+        Long movieId = movieRepository.findIdByImdbId(id);
+        int deleted = movieId == null ? 0 : movieRepository.deleteByImdbId(id);
         if (deleted == 0) {
             log.error("Movie with imdbId {} not found for deletion", id);
             throw new NotFoundException("Movie not found");
         }
+        afterCommit(() -> {
+            movieSearchIndex.remove(List.of(id));
+            ratingLeaderboard.remove(List.of(movieId));
+        });
     }
 
     @Transactional
@@ -124,7 +169,30 @@ public class MovieUserService {
                 .collect(Collectors.toList());
 
         if (ids.isEmpty()) return 0;
-        return movieRepository.deleteByImdbIdIn(ids);
+        List<Long> movieIds = movieRepository.findIdsByImdbIdIn(ids);
+        int deleted = movieRepository.deleteByImdbIdIn(ids);
+        afterCommit(() -> {
+            movieSearchIndex.remove(ids);
+            ratingLeaderboard.remove(movieIds);
+        });
+        return deleted;
+    }
+
+    /**
+     * Runs {@code action} once the surrounding transaction commits, so in-memory views never drop movies
+     * the database still has after a rollback. Without a transaction it runs at once.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private String requireImdbId(String raw) {
@@ -145,14 +213,4 @@ public class MovieUserService {
         String rawValue = raw.trim();
         return rawValue.isEmpty() ? null : rawValue;
     }
-
-    private static ImportResultDTO added(String id, String message) {
-        return new ImportResultDTO(id, ImportStatus.ADDED, message);
-    }
-    private static ImportResultDTO exists(String id, String message) {
-        return new ImportResultDTO(id, ImportStatus.EXISTS, message);
-    }
-    private static ImportResultDTO failed(String id, String message) {
-        return new ImportResultDTO(id, ImportStatus.FAILED, message);
-    }
 }
@@ -4,102 +4,205 @@ import com.movie.movieapp.common.DTO.RatingRequestDTO;
 import com.movie.movieapp.common.DTO.RatingSummaryDTO;
 
 import com.movie.movieapp.common.exception.customException.NotFoundException;
+import com.movie.movieapp.common.DTO.LeaderboardEntryDTO;
 import com.movie.movieapp.entity.Movie;
 import com.movie.movieapp.entity.MovieUser;
 import com.movie.movieapp.entity.Rating;
-import com.movie.movieapp.model.RatingMapper;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.rating.PendingRating;
+import com.movie.movieapp.rating.RatingChangedEvent;
+import com.movie.movieapp.rating.RatingLeaderboard;
+import com.movie.movieapp.rating.RatingWriteBuffer;
+import com.movie.movieapp.repository.MovieRatingStatsRepository;
 import com.movie.movieapp.repository.MovieRepository;
 import com.movie.movieapp.repository.MovieUserRepository;
 import com.movie.movieapp.repository.RatingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.*;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class RatingService {
 
+    /** An upsert only misses when it races a first rating of the same (user, movie); one retry settles it. */
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
+    /** Matches the largest {@code GET /movies} page. */
+    private static final int MAX_SUMMARY_IDS = 100;
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     private final MovieRepository movieRepository;
     private final MovieUserRepository movieUserRepository;
     private final RatingRepository ratingRepository;
-    private final RatingMapper ratingMapper;
+    private final MovieRatingStatsRepository movieRatingStatsRepository;
+    private final RatingWriteBuffer ratingWriteBuffer;
+    private final RatingLeaderboard ratingLeaderboard;
+    private final MovieMapper movieMapper;
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public RatingSummaryDTO rateMovie(String imdbId, RatingRequestDTO request) {
-        String id = checkImdbID(imdbId);
-
-        Movie movie = movieRepository.findByImdbId(id);
-        if (movie == null) {
-            log.warn("Movie not found: {}", id);
-            throw new NotFoundException("Movie not found");
-        }
+        Long movieId = findMovieId(imdbId);
         MovieUser user = getCurrentUser();
-
-        Rating rating = ratingRepository.findByUserIdAndMovieImdbId(user.getId(), id);
-        if (rating == null) {
-            rating = ratingMapper.fromRequest(request);
-            rating.setUser(user);
-            rating.setMovie(movie);
-        } else {
-            ratingMapper.updateScore(rating,request);
+        if (ratingWriteBuffer.offer(PendingRating.upsert(user.getId(), movieId, request.score()))) {
+            return summaryWithQueuedWrite(movieId, user.getId(), request.score());
         }
-        ratingRepository.save(rating);
 
-        Double avg = ratingRepository.averageForMovie(id);
-        long count = ratingRepository.countForMovie(id);
-        return new RatingSummaryDTO(avg == null ? 0.0 : Math.round(avg * 10.0) / 10.0, count, rating.getScore());
+        RatingRepository.Upserted written = ratingRepository.upsert(user.getId(), movieId, request.score());
+        for (int attempt = 1; written.getScore() == null && attempt < MAX_UPSERT_ATTEMPTS; attempt++) {
+            written = ratingRepository.upsert(user.getId(), movieId, request.score());
+        }
+        if (written.getScore() == null) {
+            throw new IllegalStateException("Could not save rating");
+        }
+        Integer previous = written.getPrevious();
+        long sumDelta = written.getScore() - (previous == null ? 0 : previous);
+        long countDelta = previous == null ? 1 : 0;
+        movieRatingStatsRepository.applyDelta(movieId, sumDelta, countDelta);
+        events.publishEvent(new RatingChangedEvent(movieId, sumDelta, countDelta, 1));
+        return summary(movieId, written.getScore());
     }
 
     @Transactional(readOnly = true)
     public RatingSummaryDTO getMyRating(String imdbId) {
-        String id = checkImdbID(imdbId);
-        Movie movie = movieRepository.findByImdbId(id);
+        Long movieId = findMovieId(imdbId);
+        MovieUser user = getCurrentUser();
+        Optional<PendingRating> pending = ratingWriteBuffer.pending(user.getId(), movieId);
+        if (pending.isPresent()) {
+            return summaryWithQueuedWrite(movieId, user.getId(), pending.get().score());
+        }
+        Rating rating = ratingRepository.findByUserIdAndMovieId(user.getId(), movieId);
+        return summary(movieId, rating == null ? null : rating.getScore());
+    }
 
-        if (movie == null)
-            throw new NotFoundException("Movie not found");
+    @Transactional(readOnly = true)
+    public RatingSummaryDTO getMovieSummary(String imdbId) {
+        return summary(findMovieId(imdbId), null);
+    }
 
+    @Transactional
+    public RatingSummaryDTO deleteMyRating(String imdbId) {
+        Long movieId = findMovieId(imdbId);
         MovieUser user = getCurrentUser();
-        Rating rating = ratingRepository.findByUserIdAndMovieImdbId(user.getId(), id);
+        if (ratingWriteBuffer.offer(PendingRating.delete(user.getId(), movieId))) {
+            return summaryWithQueuedWrite(movieId, user.getId(), null);
+        }
+        Integer deleted = ratingRepository.deleteReturningScore(user.getId(), movieId);
+        if (deleted != null) {
+            movieRatingStatsRepository.applyDelta(movieId, -deleted, -1);
+            events.publishEvent(new RatingChangedEvent(movieId, -deleted, -1, 0));
+        }
+        return summary(movieId, null);
+    }
+
+    /**
+     * Summaries for a page of movies in one grouped query, keyed by imdbId in request order.
+     * Unknown imdbIds are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, RatingSummaryDTO> getSummaries(Collection<String> imdbIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (imdbIds != null) {
+            for (String raw : imdbIds) {
+                if (raw != null && !raw.isBlank()) ids.add(raw.trim());
+            }
+        }
+        if (ids.size() > MAX_SUMMARY_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_SUMMARY_IDS + " imdbIds per request");
+        }
+        if (ids.isEmpty()) return Map.of();
 
-        Double avg = ratingRepository.averageForMovie(id);
-        long count = ratingRepository.countForMovie(id);
-        Integer myRating = rating == null ? null : rating.getScore();
-        return new RatingSummaryDTO(avg == null ? 0.0 : Math.round(avg * 10.0) / 10.0, count, myRating);
+        MovieUser user = getCurrentUser();
+        Map<String, RatingSummaryDTO> byImdbId = new HashMap<>();
+        for (MovieRatingStatsRepository.SummaryRow row : movieRatingStatsRepository.findSummaries(ids, user.getId())) {
+            long sum = row.getRatingSum() == null ? 0 : row.getRatingSum();
+            long count = row.getRatingCount() == null ? 0 : row.getRatingCount();
+            Optional<PendingRating> pending = ratingWriteBuffer.pending(user.getId(), row.getMovieId());
+            // the row's own score is the committed one, so a queued write is applied against it
+            byImdbId.put(row.getImdbId(), pending.isPresent()
+                    ? withQueuedWrite(sum, count, row.getMyScore(), pending.get().score())
+                    : summary(sum, count, row.getMyScore()));
+        }
+        Map<String, RatingSummaryDTO> ordered = new LinkedHashMap<>();
+        for (String id : ids) {
+            RatingSummaryDTO summary = byImdbId.get(id);
+            if (summary != null) ordered.put(id, summary);
+        }
+        return ordered;
     }
 
+    /** Top movies of a leaderboard, read from memory plus one primary-key query for their details. */
     @Transactional(readOnly = true)
-    public RatingSummaryDTO getMovieSummary(String imdbId) {
-        String id = checkImdbID(imdbId);
-        Movie movie = movieRepository.findByImdbId(id);
-        if (movie == null)
-        {
-            log.warn("Movie not found: {}", id);
-            throw new NotFoundException("Movie not found");
+    public List<LeaderboardEntryDTO> getLeaderboard(RatingLeaderboard.Board board, int limit) {
+        int k = Math.min(Math.max(limit, 1), MAX_LEADERBOARD_SIZE);
+        List<RatingLeaderboard.Entry> entries = ratingLeaderboard.top(board, k);
+        Map<Long, Movie> movies = new HashMap<>();
+        for (Movie movie : movieRepository.findAllById(entries.stream().map(RatingLeaderboard.Entry::movieId).toList())) {
+            movies.put(movie.getId(), movie);
+        }
+
+        List<LeaderboardEntryDTO> result = new ArrayList<>(entries.size());
+        List<Long> deleted = new ArrayList<>();
+        for (RatingLeaderboard.Entry entry : entries) {
+            Movie movie = movies.get(entry.movieId());
+            if (movie == null) {
+                deleted.add(entry.movieId());
+                continue;
+            }
+            RatingSummaryDTO summary = summary(entry.ratingSum(), entry.ratingCount(), null);
+            result.add(new LeaderboardEntryDTO(result.size() + 1, movieMapper.toSummary(movie),
+                    summary.average(), summary.count(), entry.recentRatings()));
         }
+        if (!deleted.isEmpty()) ratingLeaderboard.remove(deleted);
+        return result;
+    }
 
-        Double avg = ratingRepository.averageForMovie(id);
-        long count = ratingRepository.countForMovie(id);
-        return new RatingSummaryDTO(avg == null ? 0.0 : Math.round(avg * 10.0) / 10.0, count, null);
+    /** One primary-key read of the movie's running aggregates; no scan of its ratings. */
+    private RatingSummaryDTO summary(Long movieId, Integer myRating) {
+        return movieRatingStatsRepository.findById(movieId)
+                .map(stats -> summary(stats.getRatingSum(), stats.getRatingCount(), myRating))
+                .orElseGet(() -> summary(0, 0, myRating));
     }
 
-    @Transactional
-    public RatingSummaryDTO deleteMyRating(String imdbId) {
+    /**
+     * Write-behind: the flushed aggregates with the write just queued applied on top, measured against the
+     * user's committed rating, so the caller sees its own write. Other users' queued writes still lag.
+     */
+    private RatingSummaryDTO summaryWithQueuedWrite(Long movieId, Long userId, Integer score) {
+        Rating committed = ratingRepository.findByUserIdAndMovieId(userId, movieId);
+        Integer previous = committed == null ? null : committed.getScore();
+        return movieRatingStatsRepository.findById(movieId)
+                .map(stats -> withQueuedWrite(stats.getRatingSum(), stats.getRatingCount(), previous, score))
+                .orElseGet(() -> withQueuedWrite(0, 0, previous, score));
+    }
+
+    /** Flushed aggregates with a queued write of {@code score} (null: delete) replacing {@code committed}. */
+    private static RatingSummaryDTO withQueuedWrite(long sum, long count, Integer committed, Integer score) {
+        long sumDelta = (score == null ? 0 : score) - (committed == null ? 0 : committed);
+        long countDelta = (score == null ? 0 : 1) - (committed == null ? 0 : 1);
+        return summary(Math.max(0, sum + sumDelta), Math.max(0, count + countDelta), score);
+    }
+
+    private static RatingSummaryDTO summary(long sum, long count, Integer myRating) {
+        double average = count == 0 ? 0.0 : Math.round((double) sum / count * 10.0) / 10.0;
+        return new RatingSummaryDTO(average, count, myRating);
+    }
+
+    private Long findMovieId(String imdbId) {
         String id = checkImdbID(imdbId);
-        Movie movie = movieRepository.findByImdbId(id);
-        if (movie == null) {
+        Long movieId = movieRepository.findIdByImdbId(id);
+        if (movieId == null) {
             log.warn("Movie not found: {}", id);
             throw new NotFoundException("Movie not found");
         }
-
-        MovieUser user = getCurrentUser();
-        ratingRepository.deleteByUserIdAndMovieImdbId(user.getId(), id);
-        Double avg = ratingRepository.averageForMovie(id);
-        long count = ratingRepository.countForMovie(id);
-        return new RatingSummaryDTO(avg == null ? 0.0 : Math.round(avg * 10.0) / 10.0, count, null);
+        return movieId;
     }
 
     private MovieUser getCurrentUser() {
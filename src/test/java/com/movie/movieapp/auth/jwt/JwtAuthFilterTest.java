@@ -0,0 +1,105 @@
+package com.movie.movieapp.auth.jwt;
+
+import com.movie.movieapp.auth.model.Role;
+import com.movie.movieapp.entity.MovieUser;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+    private final TokenRevocationList revocationList = mock(TokenRevocationList.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtAuthFilter filter = new JwtAuthFilter(jwtService, principalCache, revocationList, meterRegistry);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validToken_authenticates_andIsTimed() throws Exception {
+        TokenClaims claims = claims();
+        MovieUser user = user();
+        when(jwtService.verify("good")).thenReturn(claims);
+        when(principalCache.resolve(claims)).thenReturn(user);
+        when(jwtService.isTokenValid(claims, user)).thenReturn(true);
+
+        filter.doFilter(request("good"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(user);
+        assertThat(meterRegistry.get("auth.jwt.verify").tag("result", "verified").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidToken_isRejected_andIsTimed() throws Exception {
+        when(jwtService.verify("bad")).thenThrow(new MalformedJwtException("bad"));
+
+        filter.doFilter(request("bad"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("auth.jwt.verify").tag("result", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void revokedToken_doesNotAuthenticate() throws Exception {
+        TokenClaims claims = claims();
+        when(jwtService.verify("revoked")).thenReturn(claims);
+        when(revocationList.isRevoked(claims)).thenReturn(true);
+
+        filter.doFilter(request("revoked"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(principalCache);
+    }
+
+    @Test
+    void actuatorMetrics_areAuthenticated_butHealthIsSkipped() throws Exception {
+        TokenClaims claims = claims();
+        MovieUser user = user();
+        when(jwtService.verify("good")).thenReturn(claims);
+        when(principalCache.resolve(claims)).thenReturn(user);
+        when(jwtService.isTokenValid(claims, user)).thenReturn(true);
+
+        filter.doFilter(request("good", "/actuator/health"), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        filter.doFilter(request("good", "/actuator/prometheus"), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(user);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        return request(token, "/movies");
+    }
+
+    private static MockHttpServletRequest request(String token, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static TokenClaims claims() {
+        Instant now = Instant.now();
+        return new TokenClaims("haneen@gmail.com", "ACCESS", "jti", 1L, "USER", now, now.plusSeconds(900));
+    }
+
+    private static MovieUser user() {
+        MovieUser user = new MovieUser();
+        user.setId(1L);
+        user.setEmail("haneen@gmail.com");
+        user.setRole(Role.USER);
+        return user;
+    }
+}
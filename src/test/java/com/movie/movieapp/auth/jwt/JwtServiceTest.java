@@ -0,0 +1,92 @@
+package com.movie.movieapp.auth.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "VGhpc0lzQVNlY3JldEtleVdpdGhBdExlYXN0MzJiYnl0ZXMhISEhISEhISEhIQ==";
+
+    private final JwtService jwtService = new JwtService(SECRET, 900, 3600, 100);
+    private final UserDetails user = User.withUsername("haneen@gmail.com").password("x").authorities(List.of()).build();
+
+    @Test
+    void verify_accessToken_isParsedOnceAndServedFromCache() {
+        String token = jwtService.generateToken(Map.of("userId", 7L, "role", "USER"), user);
+
+        TokenClaims first = jwtService.verify(token);
+        TokenClaims second = jwtService.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.subject()).isEqualTo("haneen@gmail.com");
+        assertThat(first.tokenType()).isEqualTo("ACCESS");
+        assertThat(first.userId()).isEqualTo(7L);
+        assertThat(first.role()).isEqualTo("USER");
+        assertThat(jwtService.isTokenValid(first, user)).isTrue();
+    }
+
+    @Test
+    void verify_tamperedToken_isRejectedEvenWhenOriginalIsCached() {
+        String token = jwtService.generateToken(Map.of(), user);
+        jwtService.verify(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"admin@gmail.com\",\"token_type\":\"ACCESS\",\"exp\":4102444800}".getBytes());
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtService.verify(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_expiredToken_isRejected() {
+        String expired = Jwts.builder()
+                .claim("token_type", "ACCESS")
+                .setSubject("haneen@gmail.com")
+                .setIssuedAt(Date.from(Instant.now().minusSeconds(600)))
+                .setExpiration(Date.from(Instant.now().minusSeconds(120)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtService.isTokenValid(expired, user)).isFalse();
+    }
+
+    @Test
+    void verify_zeroMaxEntries_disablesCacheAndParsesEveryTime() {
+        JwtService uncached = new JwtService(SECRET, 900, 3600, 0);
+        String token = uncached.generateToken(Map.of("userId", 7L), user);
+
+        TokenClaims first = uncached.verify(token);
+        TokenClaims second = uncached.verify(token);
+
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+    }
+
+    @Test
+    void verify_refreshToken_isNotCached() {
+        String refresh = jwtService.generateRefreshToken(user);
+
+        TokenClaims first = jwtService.verify(refresh);
+        TokenClaims second = jwtService.verify(refresh);
+
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+        assertThat(first.tokenType()).isEqualTo("REFRESH");
+        assertThat(first.id()).isNotBlank();
+    }
+}
@@ -0,0 +1,71 @@
+package com.movie.movieapp.auth.jwt;
+
+import com.movie.movieapp.auth.model.Role;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.repository.MovieUserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private final MovieUserRepository userRepository = mock(MovieUserRepository.class);
+
+    @Test
+    void cacheMode_loadsUserOnce_untilEvicted() {
+        PrincipalCache cache = new PrincipalCache(userRepository, "cache", Duration.ofMinutes(5), 100);
+        when(userRepository.findByEmail("haneen@gmail.com")).thenReturn(user(1L, Role.USER));
+
+        MovieUser first = cache.resolve(claims(1L, "USER"));
+        MovieUser second = cache.resolve(claims(1L, "USER"));
+
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByEmail("haneen@gmail.com");
+
+        when(userRepository.findByEmail("haneen@gmail.com")).thenReturn(user(1L, Role.ADMIN));
+        cache.evict("haneen@gmail.com");
+
+        assertThat(cache.resolve(claims(1L, "USER")).getRole()).isEqualTo(Role.ADMIN);
+        verify(userRepository, times(2)).findByEmail("haneen@gmail.com");
+    }
+
+    @Test
+    void cacheMode_unknownUser_isNotCached() {
+        PrincipalCache cache = new PrincipalCache(userRepository, "cache", Duration.ofMinutes(5), 100);
+
+        assertThat(cache.resolve(claims(1L, "USER"))).isNull();
+        assertThat(cache.resolve(claims(1L, "USER"))).isNull();
+
+        verify(userRepository, times(2)).findByEmail("haneen@gmail.com");
+    }
+
+    @Test
+    void claimsMode_buildsPrincipalWithoutQuery() {
+        PrincipalCache cache = new PrincipalCache(userRepository, "claims", Duration.ofMinutes(5), 100);
+
+        MovieUser user = cache.resolve(claims(7L, "ADMIN"));
+
+        assertThat(user.getId()).isEqualTo(7L);
+        assertThat(user.getUsername()).isEqualTo("haneen@gmail.com");
+        assertThat(user.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    private static TokenClaims claims(Long userId, String role) {
+        Instant now = Instant.now();
+        return new TokenClaims("haneen@gmail.com", "ACCESS", null, userId, role, now, now.plusSeconds(900));
+    }
+
+    private static MovieUser user(Long id, Role role) {
+        MovieUser user = new MovieUser();
+        user.setId(id);
+        user.setEmail("haneen@gmail.com");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package com.movie.movieapp.auth.jwt;
+
+import com.movie.movieapp.auth.model.TokenRevocation;
+import com.movie.movieapp.auth.repository.TokenRevocationRepository;
+import com.movie.movieapp.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private static final long ACCESS_EXP_SECONDS = 900;
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T12:00:00.500Z"));
+    private final TokenRevocationList revocations = new TokenRevocationList(repository, ACCESS_EXP_SECONDS, 1000, clock);
+
+    @Test
+    void revokeUser_rejectsTokensIssuedBefore_butNotLaterLogins() {
+        TokenClaims earlier = access("a", 1L, clock.instant().minusSeconds(60));
+        TokenClaims otherUser = access("b", 2L, clock.instant().minusSeconds(60));
+
+        revocations.revokeUser(1L);
+        clock.advance(Duration.ofSeconds(1));
+        TokenClaims later = access("c", 1L, clock.instant().truncatedTo(ChronoUnit.SECONDS));
+
+        assertThat(revocations.isRevoked(earlier)).isTrue();
+        assertThat(revocations.isRevoked(otherUser)).isFalse();
+        assertThat(revocations.isRevoked(later)).isFalse();
+        verify(repository).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    void revokeToken_rejectsOnlyThatJti_andSkipsExpiredTokens() {
+        revocations.revokeToken("a", clock.instant().plusSeconds(60));
+        revocations.revokeToken("b", clock.instant().minusSeconds(1));
+
+        assertThat(revocations.isRevoked(access("a", 1L, clock.instant()))).isTrue();
+        assertThat(revocations.isRevoked(access("c", 1L, clock.instant()))).isFalse();
+        assertThat(revocations.size()).isEqualTo(1);
+        verify(repository, times(1)).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    void warm_loadsStoredRevocations() {
+        when(repository.findActiveSince(Instant.EPOCH, clock.instant())).thenReturn(List.of(
+                TokenRevocation.builder().jti("a").expiresAt(clock.instant().plusSeconds(60)).build(),
+                TokenRevocation.builder().userId(2L).revokedBefore(clock.instant())
+                        .expiresAt(clock.instant().plusSeconds(ACCESS_EXP_SECONDS)).build()));
+
+        revocations.warm();
+
+        assertThat(revocations.isRevoked(access("a", 1L, clock.instant()))).isTrue();
+        assertThat(revocations.isRevoked(access("x", 2L, clock.instant().minusSeconds(5)))).isTrue();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void sync_forgetsRevocationsOnceTheirTokensExpired() {
+        revocations.revokeToken("a", clock.instant().plusSeconds(60));
+        revocations.revokeUser(1L);
+
+        clock.advance(Duration.ofSeconds(ACCESS_EXP_SECONDS + 1));
+        revocations.sync();
+
+        assertThat(revocations.size()).isZero();
+        verify(repository).deleteExpired(clock.instant());
+    }
+
+    private static TokenClaims access(String jti, Long userId, Instant issuedAt) {
+        return new TokenClaims("user" + userId + "@gmail.com", "ACCESS", jti, userId, "USER",
+                issuedAt, issuedAt.plusSeconds(ACCESS_EXP_SECONDS));
+    }
+}
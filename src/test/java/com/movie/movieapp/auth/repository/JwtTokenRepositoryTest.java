@@ -0,0 +1,99 @@
+package com.movie.movieapp.auth.repository;
+
+import com.movie.movieapp.auth.jwt.TokenDigest;
+import com.movie.movieapp.auth.model.JwtToken;
+import com.movie.movieapp.auth.model.TokenType;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.support.H2DataJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static com.movie.movieapp.support.TestData.user;
+import static org.assertj.core.api.Assertions.*;
+
+@H2DataJpaTest
+class JwtTokenRepositoryTest {
+
+    @Autowired
+    private JwtTokenRepository jwtTokenRepository;
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findByTokenHash_findsTheStoredDigest() {
+        MovieUser user = user(em, "haneen");
+        em.persist(token(user, "refresh-1", Instant.now().plus(1, ChronoUnit.DAYS)));
+        em.flush();
+        em.clear();
+
+        assertThat(jwtTokenRepository.findByTokenHash(TokenDigest.sha256("refresh-1"))).isNotNull();
+        assertThat(jwtTokenRepository.findByTokenHash(TokenDigest.sha256("refresh-2"))).isNull();
+    }
+
+    @Test
+    void deleteExpiredBatch_deletesOnlyExpiredRows_uptoTheLimit() {
+        MovieUser user = user(em, "haneen");
+        for (int i = 0; i < 5; i++) {
+            em.persist(token(user, "old-" + i, Instant.now().minus(i + 1, ChronoUnit.DAYS)));
+        }
+        em.persist(token(user, "live", Instant.now().plus(1, ChronoUnit.DAYS)));
+        em.flush();
+        em.clear();
+
+        Date now = new Date();
+        assertThat(jwtTokenRepository.deleteExpiredBatch(now, 3)).isEqualTo(3);
+        assertThat(jwtTokenRepository.deleteExpiredBatch(now, 3)).isEqualTo(2);
+        assertThat(jwtTokenRepository.deleteExpiredBatch(now, 3)).isZero();
+        assertThat(jwtTokenRepository.findAll()).extracting(JwtToken::getTokenHash)
+                .containsExactly(TokenDigest.sha256("live"));
+    }
+
+    @Test
+    void revokeAllValidByUser_updatesOnlyThatUsersValidTokens() {
+        MovieUser haneen = user(em, "haneen");
+        MovieUser omar = user(em, "omar");
+        em.persist(token(haneen, "a", Instant.now().plus(1, ChronoUnit.DAYS)));
+        em.persist(token(haneen, "b", Instant.now().plus(1, ChronoUnit.DAYS)));
+        JwtToken alreadyRevoked = token(haneen, "c", Instant.now().plus(1, ChronoUnit.DAYS));
+        alreadyRevoked.setRevoked(true);
+        alreadyRevoked.setExpired(true);
+        em.persist(alreadyRevoked);
+        em.persist(token(omar, "d", Instant.now().plus(1, ChronoUnit.DAYS)));
+        em.flush();
+
+        assertThat(jwtTokenRepository.revokeAllValidByUser(haneen.getId())).isEqualTo(2);
+        assertThat(jwtTokenRepository.revokeAllValidByUser(haneen.getId())).isZero();
+        assertThat(jwtTokenRepository.findByTokenHash(TokenDigest.sha256("a")).isRevoked()).isTrue();
+        assertThat(jwtTokenRepository.findByTokenHash(TokenDigest.sha256("d")).isRevoked()).isFalse();
+
+        assertThat(jwtTokenRepository.revokeAllValidByUsers(List.of(haneen.getId(), omar.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    void schema_hasCompositeIndexForValidTokensOfAUser() {
+        List<String> columns = jdbcTemplate.queryForList("""
+                select c.column_name from information_schema.index_columns c
+                where c.index_name = 'IDX_JWT_TOKEN_USER_VALID'
+                order by c.ordinal_position""", String.class);
+
+        assertThat(columns).containsExactly("USER_ID", "IS_REVOKED", "IS_EXPIRED");
+    }
+
+    private static JwtToken token(MovieUser user, String token, Instant expiresAt) {
+        return JwtToken.builder()
+                .tokenHash(TokenDigest.sha256(token))
+                .tokenType(TokenType.REFRESH)
+                .expiredAt(Date.from(expiresAt))
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.movie.movieapp.auth.service;
+
+import com.movie.movieapp.auth.common.DTO.AuthResponseDTO;
+import com.movie.movieapp.auth.common.DTO.LoginRequestDTO;
+import com.movie.movieapp.auth.jwt.JwtService;
+import com.movie.movieapp.auth.jwt.PrincipalCache;
+import com.movie.movieapp.auth.jwt.TokenRevocationList;
+import com.movie.movieapp.auth.model.Role;
+import com.movie.movieapp.auth.repository.JwtTokenRepository;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.repository.MovieUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private MovieUserRepository userRepository;
+    @Mock
+    private PasswordHasher passwordHasher;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private JwtTokenRepository jwtTokenRepository;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private TokenRevocationList revocationList;
+    @InjectMocks
+    private AuthService authService;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void login_rehashesPasswordMadeWithOldStrength() {
+        MovieUser user = user();
+        when(userRepository.findByEmail("haneen@gmail.com")).thenReturn(user);
+        when(passwordHasher.matches("secret", "old-hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("old-hash")).thenReturn(true);
+        when(passwordHasher.encode("secret")).thenReturn("new-hash");
+        when(userRepository.save(user)).thenReturn(user);
+        stubTokens();
+
+        AuthResponseDTO tokens = authService.login(new LoginRequestDTO("haneen@gmail.com", "secret"));
+
+        assertThat(tokens.accessToken()).isEqualTo("access");
+        assertThat(user.getPassword()).isEqualTo("new-hash");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void login_wrongPassword_isRejectedWithoutRehash() {
+        when(userRepository.findByEmail("haneen@gmail.com")).thenReturn(user());
+        when(passwordHasher.matches("wrong", "old-hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.login(new LoginRequestDTO("haneen@gmail.com", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(passwordHasher, never()).encode(anyString());
+        verify(jwtTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void logout_revokesEverythingWithOneUpdate() {
+        MovieUser user = user();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null));
+        when(jwtTokenRepository.revokeAllValidByUser(1L)).thenReturn(3);
+
+        authService.logout();
+
+        verify(principalCache).evict("haneen@gmail.com");
+        verify(revocationList).revokeUser(1L);
+        verify(jwtTokenRepository).revokeAllValidByUser(1L);
+        verify(jwtTokenRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void revokeAllSessions_revokesDistinctUsersInOneStatement() {
+        when(jwtTokenRepository.revokeAllValidByUsers(Set.of(1L, 2L))).thenReturn(5);
+
+        assertThat(authService.revokeAllSessions(List.of(1L, 2L, 1L))).isEqualTo(5);
+
+        verify(revocationList).revokeUsers(Set.of(1L, 2L));
+    }
+
+    private void stubTokens() {
+        when(jwtService.generateToken(anyMap(), any())).thenReturn("access");
+        when(jwtService.generateRefreshToken(any())).thenReturn("refresh");
+        when(jwtService.extractExpiration("refresh")).thenReturn(new Date());
+    }
+
+    private static MovieUser user() {
+        MovieUser user = new MovieUser();
+        user.setId(1L);
+        user.setEmail("haneen@gmail.com");
+        user.setPassword("old-hash");
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.movie.movieapp.auth.service;
+
+import com.movie.movieapp.common.exception.customException.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void matches_runsOnPool_andRecordsHashTime() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), registry, 1, 4, Duration.ofSeconds(5));
+        String hash = hasher.encode("secret");
+
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+        assertThat(hasher.hashCount()).isEqualTo(3);
+        assertThat(hasher.hashTime()).isPositive();
+        assertThat(registry.get("auth.password.hash").timer().count()).isEqualTo(3);
+        hasher.destroy();
+    }
+
+    @Test
+    void needsRehash_whenStrengthWasRaised() {
+        String weak = new BCryptPasswordEncoder(4).encode("secret");
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), registry, 1, 4, Duration.ofSeconds(5));
+
+        assertThat(hasher.needsRehash(weak)).isTrue();
+        assertThat(hasher.needsRehash(hasher.encode("secret"))).isFalse();
+        hasher.destroy();
+    }
+
+    @Test
+    void saturatedPool_rejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.matches(anyString(), anyString())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        PasswordHasher hasher = new PasswordHasher(slow, registry, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hasher.matches("a", "x"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hasher.matches("b", "x"));
+        await(() -> hasher.queueDepth() == 1);
+
+        assertThatThrownBy(() -> hasher.matches("c", "x")).isInstanceOf(ServiceBusyException.class);
+        assertThat(hasher.rejectedCount()).isEqualTo(1);
+        assertThat(registry.get("auth.password.queue").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        hasher.destroy();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) Thread.sleep(5);
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,68 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbCacheStatsDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CaffeineOmdbCacheTest {
+
+    private CaffeineOmdbCache cache;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineOmdbCache(new OmdbProperties.Cache());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void search_sameNormalizedQueryAndPage_loadsOnce() {
+        OmdbSearchResponseDTO res = new OmdbSearchResponseDTO(List.of(), "0", "True", null);
+
+        cache.search("Batman", 1, () -> { calls.incrementAndGet(); return res; });
+        OmdbSearchResponseDTO second = cache.search("  batman ", 1, () -> { calls.incrementAndGet(); return res; });
+        cache.search("batman", 2, () -> { calls.incrementAndGet(); return res; });
+
+        assertThat(second).isSameAs(res);
+        assertThat(calls).hasValue(2);
+        OmdbCacheStatsDTO stats = cache.stats().get(0);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void detail_movieNotFound_isCachedNegatively() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> cache.detail("tt404", () -> {
+                calls.incrementAndGet();
+                throw new ExternalApiException("Movie not found!");
+            })).isInstanceOf(ExternalApiException.class).hasMessage("Movie not found!");
+        }
+
+        assertThat(calls).hasValue(1);
+        assertThat(cache.stats().get(1).negativeHits()).isEqualTo(2);
+    }
+
+    @Test
+    void detail_transportFailure_isNotCached() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.detail("tt1", () -> {
+                calls.incrementAndGet();
+                throw new ExternalApiException("OMDb detail: request failed");
+            })).isInstanceOf(ExternalApiException.class);
+        }
+        OmdbMovieDTO dto = new OmdbMovieDTO("T", "2020", "tt1", "movie", null, null, null, null,
+                null, null, null, null, null, null, null, "True", null);
+
+        assertThat(cache.detail("tt1", () -> { calls.incrementAndGet(); return dto; })).isSameAs(dto);
+        assertThat(calls).hasValue(3);
+    }
+}
@@ -0,0 +1,81 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import com.movie.movieapp.common.exception.customException.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OmdbClientTest {
+
+    private final OmdbTransport transport = mock(OmdbTransport.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OmdbClient client = client(Runnable::run);
+
+    @Test
+    void search_recordsSuccessfulCall() {
+        when(transport.get(any(URI.class), any())).thenReturn(new OmdbSearchResponseDTO(List.of(), "0", "True", null));
+
+        client.search("heat", 1);
+
+        assertThat(timerCount("search", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void getById_omdbErrorResponse_isRecordedAsOmdbError() {
+        when(transport.get(any(URI.class), any())).thenReturn(new OmdbMovieDTO(null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, "False", "Incorrect IMDb ID."));
+
+        assertThatThrownBy(() -> client.getById("tt0")).isInstanceOf(ExternalApiException.class);
+
+        assertThat(timerCount("detail", "omdb_error")).isEqualTo(1);
+    }
+
+    @Test
+    void getById_transportFailure_isRecordedAsFailure() {
+        when(transport.get(any(URI.class), any())).thenThrow(new ResourceAccessException("timeout"));
+
+        assertThatThrownBy(() -> client.getById("tt1")).isInstanceOf(ExternalApiException.class);
+
+        assertThat(timerCount("detail", "failure")).isEqualTo(1);
+    }
+
+    @Test
+    void searchAsync_fullExecutorQueue_failsFastAsBusy() {
+        OmdbClient saturated = client(task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        assertThat(saturated.searchAsync("heat", 1))
+                .failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(ServiceBusyException.class);
+        verifyNoInteractions(transport);
+    }
+
+    private long timerCount(String type, String outcome) {
+        return meterRegistry.get("omdb.requests").tag("type", type).tag("outcome", outcome).timer().count();
+    }
+
+    private OmdbClient client(Executor asyncExecutor) {
+        OmdbProperties props = new OmdbProperties();
+        props.setApiUrl("https://www.omdbapi.com/");
+        props.setApiKey("key");
+        props.getRetry().setMaxAttempts(1);
+        return new OmdbClient(transport, mock(OmdbResponseParser.class), props, new NoOpOmdbCache(),
+                new OmdbThrottle(props), asyncExecutor, meterRegistry);
+    }
+}
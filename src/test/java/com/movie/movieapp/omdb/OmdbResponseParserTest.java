@@ -0,0 +1,86 @@
+package com.movie.movieapp.omdb;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbSearchResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OmdbResponseParserTest {
+
+    private static final String DETAIL_JSON = """
+            {"Title":"Inception","Year":"2010","Rated":"PG-13","Released":"16 Jul 2010","Runtime":"148 min",
+             "Genre":"Action, Adventure, Sci-Fi","Director":"Christopher Nolan","Writer":"Christopher Nolan",
+             "Actors":"Leonardo DiCaprio, Joseph Gordon-Levitt","Plot":"A thief who steals corporate secrets...",
+             "Language":"English, Japanese","Country":"United States","Awards":"Won 4 Oscars",
+             "Poster":"https://example.org/p.jpg",
+             "Ratings":[{"Source":"Internet Movie Database","Value":"8.8/10"},{"Source":"Metacritic","Value":"74/100"}],
+             "Metascore":"74","imdbRating":"8.8","imdbVotes":"2,600,000","imdbID":"tt1375666","Type":"movie",
+             "DVD":null,"BoxOffice":"$292,587,330","Production":{"nested":[1,2,{"deep":true}]},"Response":"True"}""";
+
+    private static final String SEARCH_JSON = """
+            {"Search":[
+              {"Title":"Batman Begins","Year":"2005","imdbID":"tt0372784","Type":"movie","Poster":"a.jpg","Extra":[1]},
+              {"Title":"The Batman","Year":"2022","imdbID":"tt1877830","Type":"movie","Poster":"b.jpg"}],
+             "totalResults":"2","Response":"True"}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OmdbResponseParser parser = new OmdbResponseParser(objectMapper);
+
+    @Test
+    void parseMovie_matchesDatabindAndSkipsUnknownFields() throws IOException {
+        OmdbMovieDTO streamed = parser.parseMovie(stream(DETAIL_JSON));
+        OmdbMovieDTO bound = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(DETAIL_JSON, OmdbMovieDTO.class);
+
+        assertThat(streamed).isEqualTo(bound);
+        assertThat(streamed.isOk()).isTrue();
+        assertThat(streamed.director()).isEqualTo("Christopher Nolan");
+    }
+
+    @Test
+    void parseMovie_errorResponse() throws IOException {
+        OmdbMovieDTO res = parser.parseMovie(stream("{\"Response\":\"False\",\"Error\":\"Incorrect IMDb ID.\"}"));
+
+        assertThat(res.isOk()).isFalse();
+        assertThat(res.error()).isEqualTo("Incorrect IMDb ID.");
+        assertThat(res.title()).isNull();
+    }
+
+    @Test
+    void parseMovie_nonStringValuesAreTolerated() throws IOException {
+        OmdbMovieDTO res = parser.parseMovie(stream("{\"Title\":null,\"Year\":2010,\"Genre\":{\"x\":1},\"Response\":\"True\"}"));
+
+        assertThat(res.title()).isNull();
+        assertThat(res.year()).isEqualTo("2010");
+        assertThat(res.genre()).isNull();
+        assertThat(res.isOk()).isTrue();
+    }
+
+    @Test
+    void parseSearch_readsItemsInOrder() throws IOException {
+        OmdbSearchResponseDTO res = parser.parseSearch(stream(SEARCH_JSON));
+
+        assertThat(res.isOk()).isTrue();
+        assertThat(res.totalResults()).isEqualTo("2");
+        assertThat(res.search()).extracting("imdbId").containsExactly("tt0372784", "tt1877830");
+        assertThat(res.search().get(0).poster()).isEqualTo("a.jpg");
+    }
+
+    @Test
+    void parse_notAnObject_throws() {
+        assertThatThrownBy(() -> parser.parseSearch(stream("[]"))).isInstanceOf(IOException.class);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
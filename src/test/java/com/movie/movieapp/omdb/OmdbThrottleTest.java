@@ -0,0 +1,168 @@
+package com.movie.movieapp.omdb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.movieapp.common.DTO.OmdbLimiterStatsDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class OmdbThrottleTest {
+
+    private OmdbProperties props;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        props = new OmdbProperties();
+        props.getRateLimit().setRequestsPerSecond(0);
+        props.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        props.getRetry().setMaxBackoff(Duration.ofMillis(2));
+        props.getConcurrency().setInitialLimit(8);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void tooManyRequests_isRetriedAndShrinksLimit() {
+        OmdbThrottle throttle = new OmdbThrottle(props);
+
+        String result = throttle.call("OMDb detail", () -> {
+            if (calls.incrementAndGet() < 3) throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+        OmdbLimiterStatsDTO stats = throttle.stats();
+        assertThat(stats.retries()).isEqualTo(2);
+        assertThat(stats.overloads()).isEqualTo(2);
+        assertThat(stats.concurrencyLimit()).isLessThan(8);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void overload_givesUpAfterMaxAttempts() {
+        OmdbThrottle throttle = new OmdbThrottle(props);
+
+        assertThatThrownBy(() -> throttle.call("OMDb detail", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out"));
+        })).isInstanceOf(ResourceAccessException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void connectionRefused_failsFastWithoutShrinkingLimit() {
+        OmdbThrottle throttle = new OmdbThrottle(props);
+
+        assertThatThrownBy(() -> throttle.call("OMDb detail", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("I/O error", new ConnectException("Connection refused"));
+        })).isInstanceOf(ResourceAccessException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(throttle.stats().overloads()).isZero();
+        assertThat(throttle.stats().concurrencyLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void retryAfterBeyondCeiling_failsInsteadOfRetryingEarly() {
+        OmdbThrottle throttle = new OmdbThrottle(props);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+
+        assertThatThrownBy(() -> throttle.call("OMDb detail", () -> {
+            calls.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+        })).isInstanceOf(HttpClientErrorException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(throttle.stats().overloads()).isEqualTo(1);
+        assertThat(throttle.stats().retries()).isZero();
+    }
+
+    @Test
+    void clientError_isNotRetried() {
+        OmdbThrottle throttle = new OmdbThrottle(props);
+
+        assertThatThrownBy(() -> throttle.call("OMDb detail", () -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.UNAUTHORIZED);
+        })).isInstanceOf(HttpClientErrorException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(throttle.stats().concurrencyLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void unreadableBody_isNotRetriedOrCountedAsOverload() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo("https://www.omdbapi.com/?i=tt1"))
+                .andRespond(withSuccess("{\"Title\": ", MediaType.APPLICATION_JSON));
+        OmdbTransport transport = new RestTemplateOmdbTransport(restTemplate);
+        OmdbResponseParser parser = new OmdbResponseParser(new ObjectMapper());
+        OmdbThrottle throttle = new OmdbThrottle(props);
+
+        assertThatThrownBy(() -> throttle.call("OMDb detail",
+                () -> transport.get(URI.create("https://www.omdbapi.com/?i=tt1"), parser::parseMovie)))
+                .isInstanceOf(RestClientException.class)
+                .isNotInstanceOf(ResourceAccessException.class);
+        server.verify();
+        assertThat(throttle.stats().overloads()).isZero();
+        assertThat(throttle.stats().retries()).isZero();
+        assertThat(throttle.stats().concurrencyLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void success_growsLimitTowardsMax() {
+        props.getConcurrency().setInitialLimit(2);
+        OmdbThrottle throttle = new OmdbThrottle(props);
+
+        for (int i = 0; i < 20; i++) throttle.call("OMDb search", () -> "ok");
+
+        assertThat(throttle.stats().concurrencyLimit()).isGreaterThan(2);
+    }
+
+    @Test
+    void dailyQuota_exhausted_failsWithoutCalling() {
+        props.getRateLimit().setDailyQuota(2);
+        OmdbThrottle throttle = new OmdbThrottle(props);
+        throttle.call("OMDb search", () -> calls.incrementAndGet());
+        throttle.call("OMDb search", () -> calls.incrementAndGet());
+
+        assertThatThrownBy(() -> throttle.call("OMDb search", () -> calls.incrementAndGet()))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("daily quota");
+        assertThat(calls).hasValue(2);
+        assertThat(throttle.stats().quotaUsedToday()).isEqualTo(2);
+    }
+
+    @Test
+    void serverError_countsAsOverload() {
+        assertThat(OmdbThrottle.isOverload(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))).isTrue();
+        assertThat(OmdbThrottle.isOverload(new HttpClientErrorException(HttpStatus.NOT_FOUND))).isFalse();
+        assertThat(OmdbThrottle.isOverload(new ResourceAccessException("I/O error",
+                new ConnectTimeoutException("Connect to www.omdbapi.com timed out")))).isTrue();
+        assertThat(OmdbThrottle.isOverload(new ResourceAccessException("I/O error",
+                new UnknownHostException("www.omdbapi.com")))).isFalse();
+    }
+}
@@ -0,0 +1,96 @@
+package com.movie.movieapp.omdb;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.OmdbTransportStatsDTO;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PooledOmdbTransportTest {
+
+    private static final String MOVIE_JSON = """
+            {"Title":"Inception","Year":"2010","imdbID":"tt1375666","Type":"movie","Response":"True"}""";
+
+    private HttpServer server;
+    private final OmdbResponseParser parser = new OmdbResponseParser(new ObjectMapper());
+    private PooledOmdbTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/movie", exchange -> {
+            byte[] body = gzip(MOVIE_JSON);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/throttled", exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        server.start();
+        transport = new PooledOmdbTransport(new OmdbProperties.Http());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void get_inflatesGzipAndReusesConnections() {
+        URI uri = uri("/movie");
+        for (int i = 0; i < 10; i++) {
+            OmdbMovieDTO movie = transport.get(uri, parser::parseMovie);
+            assertThat(movie.imdbId()).isEqualTo("tt1375666");
+            assertThat(movie.isOk()).isTrue();
+        }
+
+        OmdbTransportStatsDTO stats = transport.stats();
+        assertThat(stats.requests()).isEqualTo(10);
+        assertThat(stats.gzipResponses()).isEqualTo(10);
+        // a connection goes back to the pool just after the response callback, so allow one spare
+        assertThat(stats.connectionsOpened()).isBetween(1L, 2L);
+        assertThat(stats.reuseRatio()).isGreaterThanOrEqualTo(0.8);
+    }
+
+    @Test
+    void get_errorStatus_mapsToHttpStatusCodeException() {
+        assertThatThrownBy(() -> transport.get(uri("/throttled"), parser::parseMovie))
+                .isInstanceOfSatisfying(HttpClientErrorException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getResponseHeaders().getFirst("Retry-After")).isEqualTo("1");
+                });
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private static byte[] gzip(String s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            gz.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
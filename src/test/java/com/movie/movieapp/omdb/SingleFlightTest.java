@@ -0,0 +1,89 @@
+package com.movie.movieapp.omdb;
+
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallsForSameKey_shareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> flight.execute("tt1", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "movie";
+            })));
+            waitUntil(() -> loads.get() == 1);
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> flight.execute("tt1", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            waitUntil(() -> flight.coalescedCount() == 3);
+            release.countDown();
+
+            for (Future<String> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("movie");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failure_propagatesToWaitersAndIsNotRemembered() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> flight.execute("tt1", () -> {
+                started.countDown();
+                await(release);
+                throw new ExternalApiException("OMDb detail: request failed");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> waiter = pool.submit(() -> flight.execute("tt1", () -> "unused"));
+            waitUntil(() -> flight.coalescedCount() == 1);
+            release.countDown();
+
+            for (Future<String> f : List.of(leader, waiter)) {
+                assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(ExternalApiException.class);
+            }
+            assertThat(flight.execute("tt1", () -> "retried")).isEqualTo("retried");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.movie.movieapp.rating;
+
+import com.movie.movieapp.config.RatingProperties;
+import com.movie.movieapp.repository.MovieRatingStatsRepository;
+import com.movie.movieapp.repository.RatingRepository;
+import com.movie.movieapp.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RatingLeaderboardTest {
+
+    private final MovieRatingStatsRepository statsRepository = mock(MovieRatingStatsRepository.class);
+    private final RatingRepository ratingRepository = mock(RatingRepository.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+    private final RatingLeaderboard leaderboard = new RatingLeaderboard(props(), statsRepository, ratingRepository,
+            TransactionOperations.withoutTransaction(), clock);
+
+    @Test
+    void topRated_usesBayesianAverage_soFewPerfectVotesDoNotWin() {
+        leaderboard.onRatingChanged(new RatingChangedEvent(1, 10, 2, 2));     // 5.0 from 2 votes
+        leaderboard.onRatingChanged(new RatingChangedEvent(2, 450, 100, 100)); // 4.5 from 100 votes
+        leaderboard.onRatingChanged(new RatingChangedEvent(3, 60, 20, 20));   // 3.0 from 20 votes
+
+        assertThat(leaderboard.top(RatingLeaderboard.Board.TOP_RATED, 3))
+                .extracting(RatingLeaderboard.Entry::movieId).containsExactly(2L, 1L, 3L);
+        assertThat(leaderboard.top(RatingLeaderboard.Board.MOST_RATED, 2))
+                .extracting(RatingLeaderboard.Entry::movieId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void updates_moveMoviesIncrementally_andEmptyMoviesDropOut() {
+        leaderboard.onRatingChanged(new RatingChangedEvent(1, 4, 1, 1));
+        leaderboard.onRatingChanged(new RatingChangedEvent(2, 3, 1, 1));
+        leaderboard.onRatingChanged(new RatingChangedEvent(2, 5, 1, 1));
+        leaderboard.onRatingChanged(new RatingChangedEvent(2, 5, 1, 1));
+
+        assertThat(leaderboard.top(RatingLeaderboard.Board.MOST_RATED, 10))
+                .extracting(RatingLeaderboard.Entry::movieId).containsExactly(2L, 1L);
+
+        leaderboard.onRatingChanged(new RatingChangedEvent(1, -4, -1, 0));
+        assertThat(leaderboard.top(RatingLeaderboard.Board.MOST_RATED, 10))
+                .extracting(RatingLeaderboard.Entry::movieId).containsExactly(2L);
+        assertThat(leaderboard.top(RatingLeaderboard.Board.TOP_RATED, 10).get(0).average()).isEqualTo(13 / 3.0);
+    }
+
+    @Test
+    void trending_countsWritesInsideTheWindowOnly() {
+        leaderboard.onRatingChanged(new RatingChangedEvent(1, 15, 3, 3));
+        clock.advance(Duration.ofDays(2));
+        leaderboard.onRatingChanged(new RatingChangedEvent(2, 4, 2, 2));
+
+        assertThat(leaderboard.top(RatingLeaderboard.Board.TRENDING, 10))
+                .extracting(RatingLeaderboard.Entry::movieId).containsExactly(1L, 2L);
+
+        clock.advance(Duration.ofDays(1)); // movie 1's day leaves the 3-day window
+        List<RatingLeaderboard.Entry> trending = leaderboard.top(RatingLeaderboard.Board.TRENDING, 10);
+
+        assertThat(trending).extracting(RatingLeaderboard.Entry::movieId).containsExactly(2L);
+        assertThat(trending.get(0).recentRatings()).isEqualTo(2);
+        assertThat(leaderboard.top(RatingLeaderboard.Board.MOST_RATED, 10)).hasSize(2);
+    }
+
+    @Test
+    void rebuild_loadsTotalsAndRecentWritesFromDatabase() {
+        LocalDate today = LocalDate.now(clock);
+        when(statsRepository.findAllTotals()).thenReturn(List.of(
+                new Object[]{1L, 40L, 10L},
+                new Object[]{2L, 9L, 2L},
+                new Object[]{3L, 0L, 0L}));
+        when(ratingRepository.countWritesByMovieAndDay(any())).thenReturn(List.<Object[]>of(
+                new Object[]{2L, today, 2L},
+                new Object[]{2L, today.minusDays(1), 1L}));
+
+        leaderboard.rebuild();
+
+        assertThat(leaderboard.size()).isEqualTo(2);
+        assertThat(leaderboard.top(RatingLeaderboard.Board.MOST_RATED, 10))
+                .extracting(RatingLeaderboard.Entry::movieId).containsExactly(1L, 2L);
+        assertThat(leaderboard.top(RatingLeaderboard.Board.TRENDING, 10)).singleElement()
+                .satisfies(e -> assertThat(e.recentRatings()).isEqualTo(3));
+        verify(ratingRepository).countWritesByMovieAndDay(today.minusDays(2).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    @Test
+    void rebuild_replaysEventsThatArriveWhileReading() {
+        when(statsRepository.findAllTotals()).thenAnswer(inv -> {
+            // committed after the snapshot, so only the event knows about it
+            leaderboard.onRatingChanged(new RatingChangedEvent(1, 5, 1, 1));
+            return List.<Object[]>of(new Object[]{1L, 40L, 10L});
+        });
+        when(ratingRepository.countWritesByMovieAndDay(any())).thenReturn(List.of());
+
+        leaderboard.rebuild();
+
+        assertThat(leaderboard.top(RatingLeaderboard.Board.MOST_RATED, 10)).singleElement()
+                .satisfies(e -> {
+                    assertThat(e.ratingSum()).isEqualTo(45);
+                    assertThat(e.ratingCount()).isEqualTo(11);
+                    assertThat(e.recentRatings()).isEqualTo(1);
+                });
+    }
+
+    private static RatingProperties.Leaderboard props() {
+        RatingProperties.Leaderboard props = new RatingProperties.Leaderboard();
+        props.setPriorVotes(10);
+        props.setPriorMean(3.0);
+        props.setTrendingDays(3);
+        return props;
+    }
+}
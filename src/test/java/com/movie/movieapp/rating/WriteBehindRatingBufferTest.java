@@ -0,0 +1,136 @@
+package com.movie.movieapp.rating;
+
+import com.movie.movieapp.common.exception.customException.ServiceBusyException;
+import com.movie.movieapp.config.RatingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WriteBehindRatingBufferTest {
+
+    private final List<List<PendingRating>> batches = Collections.synchronizedList(new ArrayList<>());
+    private WriteBehindRatingBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) buffer.close();
+    }
+
+    @Test
+    void offer_coalescesPerUserAndMovie_andStaysReadableUntilFlushed() {
+        buffer = new WriteBehindRatingBuffer(props(1, 100, 100), batches::add);
+
+        buffer.offer(PendingRating.upsert(1, 7, 3));
+        buffer.offer(PendingRating.upsert(1, 7, 5));
+        buffer.offer(PendingRating.upsert(2, 7, 1));
+
+        assertThat(buffer.pending(1, 7)).contains(PendingRating.upsert(1, 7, 5));
+        assertThat(buffer.size()).isEqualTo(2);
+
+        buffer.flushAll();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(PendingRating.upsert(1, 7, 5), PendingRating.upsert(2, 7, 1));
+        assertThat(buffer.pending(1, 7)).isEmpty();
+    }
+
+    @Test
+    void flush_splitsIntoBatchesOfConfiguredSize() {
+        buffer = new WriteBehindRatingBuffer(props(1, 100, 4), batches::add);
+        for (int user = 0; user < 10; user++) buffer.offer(PendingRating.upsert(user, 7, 4));
+
+        buffer.flushAll();
+
+        // reaching a full batch also wakes the background flusher, so the split can vary between runs
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(4));
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(10);
+        assertThat(batches.get(0)).hasSize(4);
+    }
+
+    @Test
+    void failedFlush_keepsWritesForRetry() {
+        List<List<PendingRating>> written = new ArrayList<>();
+        boolean[] fail = {true};
+        buffer = new WriteBehindRatingBuffer(props(1, 100, 100), batch -> {
+            if (fail[0]) throw new IllegalStateException("db down");
+            written.add(batch);
+        });
+        buffer.offer(PendingRating.delete(1, 7));
+
+        assertThatThrownBy(buffer::flushAll).isInstanceOf(IllegalStateException.class);
+        assertThat(buffer.pending(1, 7)).contains(PendingRating.delete(1, 7));
+
+        fail[0] = false;
+        buffer.flushAll();
+        assertThat(written).containsExactly(List.of(PendingRating.delete(1, 7)));
+    }
+
+    @Test
+    void rejectedRow_isDroppedAfterRowByRowRetry_andDoesNotBlockTheRest() {
+        PendingRating poison = PendingRating.upsert(2, 7, 3);
+        List<List<PendingRating>> written = new ArrayList<>();
+        buffer = new WriteBehindRatingBuffer(props(1, 100, 100), batch -> {
+            if (batch.contains(poison)) throw new DataIntegrityViolationException("fk_rating_user");
+            written.add(batch);
+        });
+        buffer.offer(PendingRating.upsert(1, 7, 4));
+        buffer.offer(poison);
+        buffer.offer(PendingRating.upsert(3, 7, 5));
+
+        buffer.flushAll();
+
+        assertThat(written).containsExactlyInAnyOrder(
+                List.of(PendingRating.upsert(1, 7, 4)), List.of(PendingRating.upsert(3, 7, 5)));
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void offer_fullPartition_rejectsAfterTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        buffer = new WriteBehindRatingBuffer(props(1, 2, 2), batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        buffer.offer(PendingRating.upsert(1, 7, 3));
+        buffer.offer(PendingRating.upsert(2, 7, 3));
+
+        assertThat(buffer.offer(PendingRating.upsert(1, 7, 5))).isTrue();
+        assertThatThrownBy(() -> buffer.offer(PendingRating.upsert(3, 7, 3))).isInstanceOf(ServiceBusyException.class);
+        release.countDown();
+    }
+
+    @Test
+    void close_drainsPendingWrites_andLaterOffersFallBackToDirectWrites() {
+        buffer = new WriteBehindRatingBuffer(props(4, 100, 100), batches::add);
+        for (long movie = 0; movie < 20; movie++) buffer.offer(PendingRating.upsert(1, movie, 2));
+
+        buffer.close();
+
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(20);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.offer(PendingRating.upsert(1, 1, 2))).isFalse();
+    }
+
+    private static RatingProperties.WriteBehind props(int partitions, int capacity, int batchSize) {
+        RatingProperties.WriteBehind props = new RatingProperties.WriteBehind();
+        props.setEnabled(true);
+        props.setPartitions(partitions);
+        props.setCapacity(capacity);
+        props.setBatchSize(batchSize);
+        props.setFlushInterval(Duration.ofHours(1));
+        props.setOfferTimeout(Duration.ofMillis(50));
+        return props;
+    }
+}
@@ -0,0 +1,149 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.entity.Rating;
+import com.movie.movieapp.model.MovieType;
+import com.movie.movieapp.support.H2DataJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.movie.movieapp.support.TestData.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Counts JDBC executions (each one a database round-trip) to check that bulk writes are batched.
+ */
+@H2DataJpaTest
+@Import(BatchInsertTest.CountingConfig.class)
+class BatchInsertTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private RatingRepository ratingRepository;
+    @Autowired
+    private TestEntityManager em;
+    private final StatementCounter statements = CountingConfig.COUNTER;
+
+    @Test
+    void saveAll_movies_isBatched() {
+        statements.reset();
+
+        movieRepository.saveAll(movies(200));
+        em.flush();
+
+        // 4 insert batches plus a few pooled sequence fetches instead of 200 single inserts
+        assertThat(statements.count()).isBetween(4, 12);
+        assertThat(movieRepository.count()).isEqualTo(200);
+    }
+
+    @Test
+    void saveAll_ratings_isBatched() {
+        MovieUser user = user(em, "haneen");
+        List<Movie> movies = movieRepository.saveAll(movies(100));
+        em.flush();
+        statements.reset();
+
+        ratingRepository.saveAll(movies.stream()
+                .map(m -> Rating.builder().user(user).movie(m).score(4).build())
+                .toList());
+        em.flush();
+
+        assertThat(statements.count()).isBetween(2, 8);
+        assertThat(ratingRepository.count()).isEqualTo(100);
+    }
+
+    private static List<Movie> movies(int n) {
+        return IntStream.range(0, n).mapToObj(i -> {
+            Movie m = new Movie();
+            m.setImdbId("tt" + i);
+            m.setTitle("Movie " + i);
+            m.setType(MovieType.MOVIE);
+            return m;
+        }).toList();
+    }
+
+    static final class StatementCounter {
+        private final AtomicInteger count = new AtomicInteger();
+
+        int count() {
+            return count.get();
+        }
+
+        void reset() {
+            count.set(0);
+        }
+    }
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        private static final Set<String> EXECUTE_METHODS = Set.of(
+                "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+        static final StatementCounter COUNTER = new StatementCounter();
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource ds)) return bean;
+                    return new DelegatingDataSource(ds) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return countingConnection(super.getConnection(), COUNTER);
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection countingConnection(Connection target, StatementCounter counter) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Statement s ? countingStatement(s, counter) : result;
+                    });
+        }
+
+        private static Statement countingStatement(Statement target, StatementCounter counter) {
+            Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                    : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (EXECUTE_METHODS.contains(method.getName())) counter.count.incrementAndGet();
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
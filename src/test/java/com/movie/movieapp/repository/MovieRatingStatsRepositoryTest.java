@@ -0,0 +1,58 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.entity.MovieRatingStats;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.entity.Rating;
+import com.movie.movieapp.support.H2DataJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static com.movie.movieapp.support.TestData.movie;
+import static com.movie.movieapp.support.TestData.user;
+import static org.assertj.core.api.Assertions.*;
+
+@H2DataJpaTest
+class MovieRatingStatsRepositoryTest {
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void findSummaries_joinsStatsAndOwnScore_forKnownMoviesOnly() {
+        MovieUser me = user(em, "haneen");
+        MovieUser other = user(em, "sara");
+        Movie rated = movie(em, "tt1");
+        Movie ratedByOthers = movie(em, "tt2");
+        Movie unrated = movie(em, "tt3");
+        em.persist(Rating.builder().user(me).movie(rated).score(4).build());
+        em.persist(Rating.builder().user(other).movie(rated).score(2).build());
+        em.persist(Rating.builder().user(other).movie(ratedByOthers).score(5).build());
+        em.persist(new MovieRatingStats(null, rated, 6, 2));
+        em.persist(new MovieRatingStats(null, ratedByOthers, 5, 1));
+        em.flush();
+        em.clear();
+
+        List<MovieRatingStatsRepository.SummaryRow> rows =
+                movieRatingStatsRepository.findSummaries(List.of("tt1", "tt2", "tt3", "tt404"), me.getId());
+
+        assertThat(rows).extracting(MovieRatingStatsRepository.SummaryRow::getImdbId)
+                .containsExactlyInAnyOrder("tt1", "tt2", "tt3");
+        assertThat(rows).filteredOn(r -> r.getImdbId().equals("tt1")).singleElement()
+                .satisfies(r -> {
+                    assertThat(r.getMovieId()).isEqualTo(rated.getId());
+                    assertThat(r.getRatingSum()).isEqualTo(6);
+                    assertThat(r.getRatingCount()).isEqualTo(2);
+                    assertThat(r.getMyScore()).isEqualTo(4);
+                });
+        assertThat(rows).filteredOn(r -> r.getImdbId().equals("tt2")).singleElement()
+                .satisfies(r -> assertThat(r.getMyScore()).isNull());
+        assertThat(rows).filteredOn(r -> r.getImdbId().equals("tt3")).singleElement()
+                .satisfies(r -> assertThat(r.getRatingCount()).isNull());
+    }
+}
@@ -0,0 +1,61 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.MovieType;
+import com.movie.movieapp.support.H2DataJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@H2DataJpaTest
+class MovieRepositoryTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Movie> movies = new ArrayList<>();
+        // duplicate titles make the id tie-breaker matter
+        for (String title : List.of("Heat", "Alien", "Heat", "Zodiac", "Batman", "Alien", "Batman Begins", "100%_Love")) {
+            Movie m = new Movie();
+            m.setImdbId("tt" + movies.size());
+            m.setTitle(title);
+            m.setType(MovieType.MOVIE);
+            movies.add(m);
+        }
+        movieRepository.saveAll(movies);
+    }
+
+    @Test
+    void keysetPages_walkTitleIdOrderWithoutGapsOrRepeats() {
+        List<Movie> seen = new ArrayList<>();
+        Slice<Movie> slice = movieRepository.findFirstByTitleOrder("%", PageRequest.of(0, 3));
+        seen.addAll(slice.getContent());
+        while (slice.hasNext()) {
+            Movie last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            slice = movieRepository.findAfterByTitleOrder("%", last.getTitle(), last.getId(), PageRequest.of(0, 3));
+            seen.addAll(slice.getContent());
+        }
+
+        assertThat(seen).extracting(Movie::getTitle)
+                .containsExactly("100%_Love", "Alien", "Alien", "Batman", "Batman Begins", "Heat", "Heat", "Zodiac");
+        assertThat(seen).extracting(Movie::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void keysetPages_filterOnEscapedTitlePattern() {
+        assertThat(movieRepository.findFirstByTitleOrder("%batman%", PageRequest.of(0, 10)).getContent())
+                .extracting(Movie::getTitle).containsExactly("Batman", "Batman Begins");
+        assertThat(movieRepository.findFirstByTitleOrder("%100\\%\\_%", PageRequest.of(0, 10)).getContent())
+                .extracting(Movie::getTitle).containsExactly("100%_Love");
+        assertThat(movieRepository.findFirstByTitleOrder("%0\\_%", PageRequest.of(0, 10))).isEmpty();
+    }
+}
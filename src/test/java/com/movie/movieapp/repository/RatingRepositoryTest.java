@@ -0,0 +1,48 @@
+package com.movie.movieapp.repository;
+
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.entity.Rating;
+import com.movie.movieapp.support.H2DataJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.movie.movieapp.support.TestData.movie;
+import static com.movie.movieapp.support.TestData.user;
+import static org.assertj.core.api.Assertions.*;
+
+@H2DataJpaTest
+class RatingRepositoryTest {
+
+    @Autowired
+    private RatingRepository ratingRepository;
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void countWritesByMovieAndDay_groupsRecentRatingsPerMovieAndDay() {
+        Movie heat = movie(em, "tt1");
+        Movie alien = movie(em, "tt2");
+        for (String name : List.of("a", "b", "c")) {
+            MovieUser user = user(em, name);
+            em.persist(Rating.builder().user(user).movie(heat).score(4).build());
+        }
+        em.persist(Rating.builder().user(user(em, "d")).movie(alien).score(2).build());
+        em.flush();
+        em.clear();
+
+        List<Object[]> rows = ratingRepository.countWritesByMovieAndDay(Instant.now().minus(1, ChronoUnit.DAYS));
+        List<Object[]> none = ratingRepository.countWritesByMovieAndDay(Instant.now().plus(1, ChronoUnit.DAYS));
+
+        assertThat(rows).extracting(r -> r[0], r -> r[2])
+                .containsExactlyInAnyOrder(tuple(heat.getId(), 3L), tuple(alien.getId(), 1L));
+        assertThat(rows).allSatisfy(r -> assertThat(r[1]).isEqualTo(LocalDate.now()));
+        assertThat(none).isEmpty();
+    }
+}
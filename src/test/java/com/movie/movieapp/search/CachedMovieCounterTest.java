@@ -0,0 +1,33 @@
+package com.movie.movieapp.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachedMovieCounterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final MovieCounter exact = search -> MovieCount.exact(calls.incrementAndGet() * 100L);
+
+    @Test
+    void count_cachesPerNormalizedTerm_andFlagsCachedCountsAsInexact() {
+        CachedMovieCounter counter = new CachedMovieCounter(exact, Duration.ofMinutes(1), 100);
+
+        assertThat(counter.count("Batman")).isEqualTo(MovieCount.exact(100));
+        assertThat(counter.count("  batman ")).isEqualTo(MovieCount.estimate(100));
+        assertThat(counter.count(null)).isEqualTo(MovieCount.exact(200));
+        assertThat(counter.count(null)).isEqualTo(MovieCount.estimate(200));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void count_expiredEntry_isRecounted() {
+        CachedMovieCounter counter = new CachedMovieCounter(exact, Duration.ZERO, 100);
+
+        counter.count("heat");
+        assertThat(counter.count("heat")).isEqualTo(MovieCount.exact(200));
+    }
+}
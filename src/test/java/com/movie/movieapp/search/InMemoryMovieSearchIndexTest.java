@@ -0,0 +1,177 @@
+package com.movie.movieapp.search;
+
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.MovieMapperImpl;
+import com.movie.movieapp.model.MovieType;
+import com.movie.movieapp.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryMovieSearchIndexTest {
+
+    @Mock private MovieRepository movieRepository;
+
+    private InMemoryMovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryMovieSearchIndex(movieRepository, new MovieMapperImpl());
+        index.index(List.of(
+                movie(1L, "tt0468569", "The Dark Knight", "Christopher Nolan", "Christian Bale, Heath Ledger", "Action, Crime"),
+                movie(2L, "tt1375666", "Inception", "Christopher Nolan", "Leonardo DiCaprio", "Action, Sci-Fi"),
+                movie(3L, "tt0407887", "The Departed", "Martin Scorsese", "Leonardo DiCaprio, Matt Damon", "Crime, Drama"),
+                movie(4L, "tt0120338", "Titanic", "James Cameron", "Leonardo DiCaprio, Kate Winslet", "Drama, Romance")));
+    }
+
+    @Test
+    void search_allTermsMustMatch_acrossFields() {
+        assertThat(ids(index.search("nolan dicaprio", PageRequest.of(0, 10)))).containsExactly("tt1375666");
+        assertThat(ids(index.search("dicaprio crime", PageRequest.of(0, 10)))).containsExactly("tt0407887");
+        assertThat(index.search("nolan winslet", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveOtherFields() {
+        index.index(List.of(movie(5L, "tt9999999", "Crime Story", "Someone", "Nobody", "Drama")));
+
+        List<String> ids = ids(index.search("crime", PageRequest.of(0, 10)));
+
+        assertThat(ids).first().isEqualTo("tt9999999");
+        assertThat(ids).containsExactlyInAnyOrder("tt9999999", "tt0468569", "tt0407887");
+    }
+
+    @Test
+    void search_prefixAndTypos() {
+        assertThat(ids(index.search("incep", PageRequest.of(0, 10)))).containsExactly("tt1375666");
+        assertThat(ids(index.search("Titanik", PageRequest.of(0, 10)))).containsExactly("tt0120338");
+        assertThat(ids(index.search("scorcese", PageRequest.of(0, 10)))).containsExactly("tt0407887");
+    }
+
+    @Test
+    void search_pagesThroughRankedResults() {
+        Page<MovieSummaryDTO> first = index.search("leonardo", PageRequest.of(0, 2));
+        Page<MovieSummaryDTO> second = index.search("leonardo", PageRequest.of(1, 2));
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(first.getContent()).doesNotContainAnyElementsOf(second.getContent());
+    }
+
+    @Test
+    void index_replacesAndRemoveDropsMovies() {
+        index.index(List.of(movie(2L, "tt1375666", "Inception (Remastered)", "Christopher Nolan", "", "")));
+        index.remove(List.of("tt0120338"));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("titanic", PageRequest.of(0, 10))).isEmpty();
+        assertThat(index.search("inception", PageRequest.of(0, 10)).getContent())
+                .extracting(MovieSummaryDTO::title).containsExactly("Inception (Remastered)");
+    }
+
+    @Test
+    void remove_manyMovies_compactsPostings() {
+        List<Movie> bulk = IntStream.range(0, 3000)
+                .mapToObj(i -> movie((long) i + 10, "ttx" + i, "Filler " + i, "Director", "Actor", "Drama"))
+                .toList();
+        index.index(bulk);
+        int before = index.termCount();
+
+        index.remove(bulk.stream().map(Movie::getImdbId).toList());
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.termCount()).isLessThan(before);
+        assertThat(index.search("filler", PageRequest.of(0, 10))).isEmpty();
+        assertThat(ids(index.search("drama", PageRequest.of(0, 10)))).containsExactlyInAnyOrder("tt0407887", "tt0120338");
+    }
+
+    @Test
+    void reindexingTheSameMovies_compactionKeepsDocIdsBoundedByCatalogSize() {
+        for (int round = 0; round < 2000; round++) {
+            index.index(List.of(movie(2L, "tt1375666", "Inception", "Christopher Nolan", "Leonardo DiCaprio", "Action, Sci-Fi")));
+        }
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.docIdSpace()).isLessThan(4 + 1024);
+        assertThat(ids(index.search("dicaprio", PageRequest.of(0, 10))))
+                .containsExactlyInAnyOrder("tt1375666", "tt0407887", "tt0120338");
+        assertThat(ids(index.search("nolan action", PageRequest.of(0, 10))))
+                .containsExactlyInAnyOrder("tt1375666", "tt0468569");
+    }
+
+    @Test
+    void rebuild_loadsCatalogInIdOrderBatches() {
+        InMemoryMovieSearchIndex fresh = new InMemoryMovieSearchIndex(movieRepository, new MovieMapperImpl());
+        List<Movie> firstBatch = IntStream.range(0, 1000)
+                .mapToObj(i -> movie((long) i + 1, "tt" + i, "Movie " + i, null, null, null)).toList();
+        when(movieRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(firstBatch);
+        when(movieRepository.findByIdGreaterThanOrderByIdAsc(eq(1000L), any(Limit.class)))
+                .thenReturn(List.of(movie(1001L, "tt1001", "Last One", null, null, null)));
+
+        fresh.rebuild();
+
+        assertThat(fresh.size()).isEqualTo(1001);
+        assertThat(ids(fresh.search("last", PageRequest.of(0, 5)))).containsExactly("tt1001");
+    }
+
+    @Test
+    void rebuild_keepsRemovalsAndReindexesMadeWhileItReads() {
+        InMemoryMovieSearchIndex fresh = new InMemoryMovieSearchIndex(movieRepository, new MovieMapperImpl());
+        when(movieRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenAnswer(inv -> {
+            // commits land after the batch was read but before the rebuild indexes it
+            fresh.remove(List.of("tt1"));
+            fresh.index(List.of(movie(2L, "tt2", "Renamed Sequel", null, null, null)));
+            return List.of(movie(1L, "tt1", "Deleted Movie", null, null, null),
+                    movie(2L, "tt2", "Old Title", null, null, null),
+                    movie(3L, "tt3", "Untouched", null, null, null));
+        });
+
+        fresh.rebuild();
+
+        assertThat(fresh.size()).isEqualTo(2);
+        assertThat(fresh.search("deleted", PageRequest.of(0, 5))).isEmpty();
+        assertThat(fresh.search("old", PageRequest.of(0, 5))).isEmpty();
+        assertThat(ids(fresh.search("renamed", PageRequest.of(0, 5)))).containsExactly("tt2");
+
+        fresh.index(List.of(movie(1L, "tt1", "Deleted Movie", null, null, null)));
+        assertThat(ids(fresh.search("deleted", PageRequest.of(0, 5)))).containsExactly("tt1");
+    }
+
+    @Test
+    void withinEdits_isBounded() {
+        assertThat(InMemoryMovieSearchIndex.withinEdits("kitten", "sitten", 1)).isTrue();
+        assertThat(InMemoryMovieSearchIndex.withinEdits("kitten", "sitting", 1)).isFalse();
+        assertThat(InMemoryMovieSearchIndex.withinEdits("kitten", "sitting", 3)).isTrue();
+    }
+
+    private static List<String> ids(Page<MovieSummaryDTO> page) {
+        return page.getContent().stream().map(MovieSummaryDTO::imdbId).toList();
+    }
+
+    private static Movie movie(Long id, String imdbId, String title, String director, String actors, String genre) {
+        Movie m = new Movie();
+        m.setId(id);
+        m.setImdbId(imdbId);
+        m.setTitle(title);
+        m.setDirector(director);
+        m.setActors(actors);
+        m.setGenre(genre);
+        m.setType(MovieType.MOVIE);
+        return m;
+    }
+}
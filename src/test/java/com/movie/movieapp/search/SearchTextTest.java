@@ -0,0 +1,28 @@
+package com.movie.movieapp.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SearchTextTest {
+
+    @Test
+    void tokens_caseFoldsAndSplitsOnNonWordCharacters() {
+        assertThat(SearchText.tokens("  Spider-Man: No Way Home (2021) ")).containsExactly("spider", "man", "no", "way", "home", "2021");
+        assertThat(SearchText.tokens("Amélie")).containsExactly("amélie");
+        assertThat(SearchText.tokens("!!!")).isEmpty();
+        assertThat(SearchText.tokens(null)).isEmpty();
+    }
+
+    @Test
+    void prefixTsQuery_stripsQuerySyntax() {
+        assertThat(SearchText.prefixTsQuery("dark knight")).isEqualTo("dark:* & knight:*");
+        assertThat(SearchText.prefixTsQuery("a|b & !c:*")).isEqualTo("a:* & b:* & c:*");
+        assertThat(SearchText.prefixTsQuery("   ")).isEmpty();
+    }
+
+    @Test
+    void containsPattern_escapesLikeWildcards() {
+        assertThat(SearchText.containsPattern(" 100% _Fun_ ")).isEqualTo("%100\\% \\_fun\\_%");
+    }
+}
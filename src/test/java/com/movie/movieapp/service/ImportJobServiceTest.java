@@ -0,0 +1,104 @@
+package com.movie.movieapp.service;
+
+import com.movie.movieapp.common.DTO.ImportJobDTO;
+import com.movie.movieapp.common.DTO.ImportMovieRequestDTO;
+import com.movie.movieapp.common.DTO.ImportResultDTO;
+import com.movie.movieapp.entity.ImportJob;
+import com.movie.movieapp.entity.ImportJobItem;
+import com.movie.movieapp.model.ImportJobStatus;
+import com.movie.movieapp.model.ImportStatus;
+import com.movie.movieapp.repository.ImportJobItemRepository;
+import com.movie.movieapp.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock private ImportJobRepository jobRepository;
+    @Mock private ImportJobItemRepository itemRepository;
+    @Mock private MovieImportService movieImportService;
+
+    private ImportJobService service;
+    private ImportJob job;
+
+    @BeforeEach
+    void setup() {
+        service = new ImportJobService(jobRepository, itemRepository, movieImportService,
+                Runnable::run, TransactionOperations.withoutTransaction());
+        job = ImportJob.builder().id(7L).status(ImportJobStatus.RUNNING).total(2).build();
+    }
+
+    @Test
+    void submit_persistsJobAndReturnsIdImmediately() {
+        ImportJobService deferred = new ImportJobService(jobRepository, itemRepository, movieImportService,
+                task -> { }, TransactionOperations.withoutTransaction());
+        when(jobRepository.save(any(ImportJob.class))).thenReturn(job);
+
+        ImportJobDTO dto = deferred.submit(new ImportMovieRequestDTO(List.of("tt1", "tt2")));
+
+        assertThat(dto.jobId()).isEqualTo(7L);
+        assertThat(dto.status()).isEqualTo(ImportJobStatus.RUNNING);
+        assertThat(dto.pending()).isEqualTo(2);
+        verify(itemRepository).saveAll(argThat(items -> ((List<?>) items).size() == 2));
+        verifyNoInteractions(movieImportService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_importsOnlyPendingIdsAndRecordsEachResult() {
+        ImportJobItem done = ImportJobItem.builder().id(1L).job(job).position(0).imdbId("tt1").status(ImportStatus.ADDED).build();
+        ImportJobItem pending = ImportJobItem.builder().id(2L).job(job).position(1).imdbId("tt2").build();
+        when(itemRepository.findByJobIdAndStatusIsNullOrderByPosition(7L)).thenReturn(List.of(pending));
+        when(movieImportService.importByImdbIds(eq(List.of("tt2")), any())).thenAnswer(inv -> {
+            ImportResultDTO result = new ImportResultDTO("tt2", ImportStatus.FAILED, "Movie not found!");
+            inv.<BiConsumer<Integer, ImportResultDTO>>getArgument(1).accept(0, result);
+            return List.of(result);
+        });
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(jobRepository.save(job)).thenReturn(job);
+
+        service.run(7L);
+
+        verify(itemRepository).complete(2L, ImportStatus.FAILED, "Movie not found!");
+        verify(itemRepository, never()).complete(eq(done.getId()), any(), any());
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void getStatus_reportsCountsPerImportStatus() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(itemRepository.countByStatus(7L)).thenReturn(List.<Object[]>of(new Object[]{ImportStatus.ADDED, 1L}));
+
+        ImportJobDTO dto = service.getStatus(7L);
+
+        assertThat(dto.added()).isEqualTo(1);
+        assertThat(dto.failed()).isZero();
+        assertThat(dto.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void resumeUnfinishedJobs_rerunsRunningJobs() {
+        when(jobRepository.findByStatus(ImportJobStatus.RUNNING)).thenReturn(List.of(job));
+        when(itemRepository.findByJobIdAndStatusIsNullOrderByPosition(7L)).thenReturn(List.of());
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        when(jobRepository.save(job)).thenReturn(job);
+
+        service.resumeUnfinishedJobs();
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,137 @@
+package com.movie.movieapp.service;
+
+import com.movie.movieapp.common.DTO.ImportMovieRequestDTO;
+import com.movie.movieapp.common.DTO.ImportResultDTO;
+import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.exception.customException.ExternalApiException;
+import com.movie.movieapp.config.ImportProperties;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.model.ImportStatus;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.omdb.OmdbClient;
+import com.movie.movieapp.repository.MovieRepository;
+import com.movie.movieapp.search.MovieSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieImportServiceTest {
+
+    @Mock private MovieRepository movieRepository;
+    @Mock private OmdbClient omdbClient;
+    @Mock private MovieMapper movieMapper;
+    @Mock private MovieSearchIndex movieSearchIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ImportProperties props;
+    private MovieImportService service;
+
+    @BeforeEach
+    void setup() {
+        props = new ImportProperties();
+        service = new MovieImportService(movieRepository, omdbClient, movieMapper, props,
+                Runnable::run, TransactionOperations.withoutTransaction(), movieSearchIndex, meterRegistry);
+    }
+
+    // importByImdbIds tests - successful addition
+    @Test
+    void importByImdbIds_addedSuccessfully() {
+        ImportMovieRequestDTO req = new ImportMovieRequestDTO(List.of("tt1234567"));
+
+        when(movieRepository.findExistingImdbIds(anyCollection())).thenReturn(Set.of());
+        OmdbMovieDTO omdbDto = omdb("tt1234567");
+        when(omdbClient.getById("tt1234567")).thenReturn(omdbDto);
+
+        Movie entity = movie("tt1234567");
+        when(movieMapper.toEntity(omdbDto)).thenReturn(entity);
+
+        List<ImportResultDTO> result = service.importByImdbIds(req);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getStatus()).isEqualTo(ImportStatus.ADDED);
+        verify(movieRepository).saveAll(List.of(entity));
+        verify(movieSearchIndex).index(List.of(entity));
+    }
+
+    //  duplicate imdbId in same request
+    @Test
+    void importByImdbIds_duplicatesInSameRequest_flaggedExists() {
+        ImportMovieRequestDTO req = new ImportMovieRequestDTO(List.of("tt1", "tt1"));
+        when(movieRepository.findExistingImdbIds(anyCollection())).thenReturn(Set.of("tt1"));
+
+        List<ImportResultDTO> result = service.importByImdbIds(req);
+        assertThat(result).hasSize(2);
+        assertThat(result.get(1).getStatus()).isEqualTo(ImportStatus.EXISTS);
+        assertThat(result.get(1).getMessage()).contains("Duplicated");
+    }
+
+    @Test
+    void importByImdbIds_mixedOutcomes_keepInputOrderAndCheckExistenceOnce() {
+        props.setBatchSize(2);
+        ImportMovieRequestDTO req = new ImportMovieRequestDTO(List.of("tt1", " ", "tt2", "tt3", "tt4"));
+        when(movieRepository.findExistingImdbIds(anyCollection())).thenReturn(Set.of("tt2"));
+        when(omdbClient.getById("tt1")).thenReturn(omdb("tt1"));
+        when(omdbClient.getById("tt3")).thenThrow(new ExternalApiException("Movie not found!"));
+        when(omdbClient.getById("tt4")).thenReturn(omdb("tt4"));
+        when(movieMapper.toEntity(any())).thenAnswer(inv -> movie(inv.<OmdbMovieDTO>getArgument(0).imdbId()));
+
+        List<ImportResultDTO> result = service.importByImdbIds(req);
+
+        assertThat(result).extracting(ImportResultDTO::getStatus).containsExactly(
+                ImportStatus.ADDED, ImportStatus.FAILED, ImportStatus.EXISTS, ImportStatus.FAILED, ImportStatus.ADDED);
+        assertThat(result.get(3).getMessage()).isEqualTo("Movie not found!");
+        verify(movieRepository, times(1)).findExistingImdbIds(anyCollection());
+        verify(movieRepository, never()).existsByImdbId(anyString());
+        verify(omdbClient, never()).getById("tt2");
+        assertThat(meterRegistry.get("movies.import.results").tag("status", "ADDED").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("movies.import.results").tag("status", "FAILED").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("movies.import.results").tag("status", "EXISTS").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void importByImdbIds_batchConflict_fallsBackToRowByRow() {
+        ImportMovieRequestDTO req = new ImportMovieRequestDTO(List.of("tt1", "tt2"));
+        when(movieRepository.findExistingImdbIds(anyCollection())).thenReturn(Set.of());
+        when(omdbClient.getById(anyString())).thenAnswer(inv -> omdb(inv.getArgument(0)));
+        when(movieMapper.toEntity(any())).thenAnswer(inv -> movie(inv.<OmdbMovieDTO>getArgument(0).imdbId()));
+        when(movieRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(movieRepository.save(any(Movie.class))).thenAnswer(inv -> {
+            Movie m = inv.getArgument(0);
+            if ("tt2".equals(m.getImdbId())) throw new DataIntegrityViolationException("dup");
+            return m;
+        });
+
+        List<ImportResultDTO> result = service.importByImdbIds(req);
+
+        assertThat(result).extracting(ImportResultDTO::getStatus)
+                .containsExactly(ImportStatus.ADDED, ImportStatus.EXISTS);
+    }
+
+    private static OmdbMovieDTO omdb(String imdbId) {
+        return new OmdbMovieDTO(
+                "Test Movie", "2024", imdbId,
+                "movie", "http://poster", "Plot...", "Action", "120 min",
+                "Someone", "Actor1, Actor2", "English", "USA", "Awards", "PG-13", "2024-01-01", "True", null
+        );
+    }
+
+    private static Movie movie(String imdbId) {
+        Movie entity = new Movie();
+        entity.setImdbId(imdbId);
+        entity.setTitle("Test Movie");
+        return entity;
+    }
+}
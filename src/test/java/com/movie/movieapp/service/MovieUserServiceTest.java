@@ -2,21 +2,32 @@ package com.movie.movieapp.service;
 
 import com.movie.movieapp.common.DTO.ImportMovieRequestDTO;
 import com.movie.movieapp.common.DTO.ImportResultDTO;
-import com.movie.movieapp.common.DTO.OmdbMovieDTO;
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.common.DTO.RatingSummaryDTO;
 import com.movie.movieapp.common.exception.customException.NotFoundException;
+import com.movie.movieapp.common.response.CursorPageResponse;
+import com.movie.movieapp.common.response.PageResponse;
+import com.movie.movieapp.config.SearchProperties;
 import com.movie.movieapp.entity.Movie;
 import com.movie.movieapp.model.ImportStatus;
 import com.movie.movieapp.model.MovieMapper;
 import com.movie.movieapp.omdb.OmdbClient;
+import com.movie.movieapp.rating.RatingLeaderboard;
 import com.movie.movieapp.repository.MovieRepository;
+import com.movie.movieapp.search.MovieCount;
+import com.movie.movieapp.search.MovieCounter;
+import com.movie.movieapp.search.MovieSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +38,12 @@ class MovieUserServiceTest {
     @Mock private MovieRepository movieRepository;
     @Mock private OmdbClient omdbClient;
     @Mock private MovieMapper movieMapper;
+    @Mock private MovieImportService movieImportService;
+    @Spy  private SearchProperties searchProperties = new SearchProperties();
+    @Mock private MovieSearchIndex movieSearchIndex;
+    @Mock private MovieCounter movieCounter;
+    @Mock private RatingService ratingService;
+    @Mock private RatingLeaderboard ratingLeaderboard;
 
     @InjectMocks private MovieUserService service;
 
@@ -34,40 +51,13 @@ class MovieUserServiceTest {
     void setup() { }
 
 
-    // importByImdbIds tests - successful addition
     @Test
-    void importByImdbIds_addedSuccessfully() {
+    void importByImdbIds_delegatesToImportService() {
         ImportMovieRequestDTO req = new ImportMovieRequestDTO(List.of("tt1234567"));
+        List<ImportResultDTO> expected = List.of(new ImportResultDTO("tt1234567", ImportStatus.ADDED, "Imported successfully"));
+        when(movieImportService.importByImdbIds(req)).thenReturn(expected);
 
-        when(movieRepository.existsByImdbId("tt1234567")).thenReturn(false);
-        OmdbMovieDTO omdbDto = new OmdbMovieDTO(
-                "tt1234567", "Test Movie", "2024",
-                "movie", "http://poster", "Plot...", "Action", "120 min",
-                "Someone", "Actor1, Actor2", "English", "USA", "Awards", "PG-13", "2024-01-01", "ok", null
-        );
-        when(omdbClient.getById("tt1234567")).thenReturn(omdbDto);
-
-        Movie entity = new Movie();
-        entity.setImdbId("tt1234567");
-        entity.setTitle("Test Movie");
-        when(movieMapper.toEntity(omdbDto)).thenReturn(entity);
-
-        List<ImportResultDTO> result = service.importByImdbIds(req);
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(ImportStatus.ADDED);
-        verify(movieRepository).save(entity);
-    }
-
-
-    //  duplicate imdbId in same request
-    @Test
-    void importByImdbIds_duplicatesInSameRequest_flaggedExists() {
-        ImportMovieRequestDTO req = new ImportMovieRequestDTO(List.of("tt1", "tt1"));
-        List<ImportResultDTO> result = service.importByImdbIds(req);
-        assertThat(result).hasSize(2);
-        assertThat(result.get(1).getStatus()).isEqualTo(ImportStatus.EXISTS);
-        assertThat(result.get(1).getMessage()).contains("Duplicated");
+        assertThat(service.importByImdbIds(req)).isSameAs(expected);
     }
 
 
@@ -79,14 +69,169 @@ class MovieUserServiceTest {
                 .isInstanceOf(NotFoundException.class);
     }
     @Test
-    void getMoviesFromDB_withSearch_callsSearchRepo() {
-        PageRequest.of(0, 15, Sort.by("title").ascending()); // expected
+    void getMovies_withSearch_likeEngine_callsSearchRepo() {
+        searchProperties.setEngine(SearchProperties.Engine.LIKE);
         when(movieRepository.findByTitleContainingIgnoreCase(eq("bat"), any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 15), false));
 
-        Page p = service.getMoviesFromDB("bat", 1, 15);
+        PageResponse<MovieSummaryDTO> p = service.getMovies("bat", 1, 15);
 
         assertThat(p.getContent()).isEmpty();
         verify(movieRepository).findByTitleContainingIgnoreCase(eq("bat"), any(Pageable.class));
     }
+
+    @Test
+    void getMovies_withSearch_fullTextEngine_usesRankedQueryUnsorted() {
+        when(movieRepository.searchRanked(anyString(), anyString(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(1, 10), false));
+        when(movieCounter.count("Dark Knight")).thenReturn(MovieCount.exact(0));
+
+        service.getMovies("  Dark Knight ", 2, 10);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(movieRepository).searchRanked(eq("dark:* & knight:*"), eq("%dark knight%"), pageable.capture());
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(1);
+        assertThat(pageable.getValue().getSort().isUnsorted()).isTrue();
+        verify(movieRepository, never()).findByTitleContainingIgnoreCase(any(), any());
+    }
+
+    @Test
+    void getMovies_memoryEngine_searchesIndexWithoutDb() {
+        searchProperties.setEngine(SearchProperties.Engine.MEMORY);
+        Page<MovieSummaryDTO> hits = new PageImpl<>(List.of(new MovieSummaryDTO("tt1", "Batman", "1989", "MOVIE", null, null)));
+        when(movieSearchIndex.search(eq("bat"), any(Pageable.class))).thenReturn(hits);
+
+        assertThat(service.getMovies(" bat ", 1, 15).getContent()).isEqualTo(hits.getContent());
+        verifyNoInteractions(movieRepository, movieCounter);
+    }
+
+    @Test
+    void deleteByImdbIds_removesFromSearchIndexAndLeaderboard() {
+        when(movieRepository.findIdsByImdbIdIn(List.of("tt1", "tt2"))).thenReturn(List.of(1L, 2L));
+        when(movieRepository.deleteByImdbIdIn(List.of("tt1", "tt2"))).thenReturn(2);
+
+        assertThat(service.deleteByImdbIds(List.of(" tt1 ", "tt2", "tt1", " "))).isEqualTo(2);
+        verify(movieSearchIndex).remove(List.of("tt1", "tt2"));
+        verify(ratingLeaderboard).remove(List.of(1L, 2L));
+    }
+
+    @Test
+    void deleteMovie_insideTransaction_removesFromSearchIndexOnlyAfterCommit() {
+        when(movieRepository.findIdByImdbId("tt1")).thenReturn(1L);
+        when(movieRepository.deleteByImdbId("tt1")).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.deleteMovie("tt1");
+            verify(movieSearchIndex, never()).remove(any());
+            verifyNoInteractions(ratingLeaderboard);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(movieSearchIndex).remove(List.of("tt1"));
+            verify(ratingLeaderboard).remove(List.of(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getMoviesByCursor_nextCursorResumesAfterLastMovie() {
+        Movie last = new Movie();
+        last.setId(42L);
+        last.setTitle("Heat: Director's Cut");
+        when(movieRepository.findFirstByTitleOrder(eq("%"), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), true));
+        when(movieRepository.findAfterByTitleOrder(eq("%"), eq("Heat: Director's Cut"), eq(42L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+
+        CursorPageResponse<MovieSummaryDTO> first = service.getMoviesByCursor(null, "", 1);
+        CursorPageResponse<MovieSummaryDTO> second = service.getMoviesByCursor(null, first.getNextCursor(), 1);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(movieRepository, never()).count();
+    }
+
+    @Test
+    void getMoviesByCursor_invalidCursor_throws() {
+        assertThatThrownBy(() -> service.getMoviesByCursor(null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void getMovies_middlePage_reportsCounterEstimate() {
+        when(movieRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(movies(10), PageRequest.of(1, 10), true));
+        when(movieCounter.count(null)).thenReturn(MovieCount.estimate(5_000));
+
+        PageResponse<MovieSummaryDTO> p = service.getMovies(null, 2, 10);
+
+        assertThat(p.getTotalElements()).isEqualTo(5_000);
+        assertThat(p.getTotalPages()).isEqualTo(500);
+        assertThat(p.isExactTotal()).isFalse();
+        verify(movieRepository, never()).count();
+    }
+
+    @Test
+    void getMovies_lastPage_totalIsExactWithoutCounting() {
+        when(movieRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(movies(3), PageRequest.of(2, 10), false));
+
+        PageResponse<MovieSummaryDTO> p = service.getMovies(null, 3, 10);
+
+        assertThat(p.getTotalElements()).isEqualTo(23);
+        assertThat(p.isExactTotal()).isTrue();
+        assertThat(p.isHasNext()).isFalse();
+        verifyNoInteractions(movieCounter);
+    }
+
+    @Test
+    void getMovies_estimateBelowRowsSeen_isRaised() {
+        when(movieRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(movies(10), PageRequest.of(3, 10), true));
+        when(movieCounter.count(null)).thenReturn(MovieCount.estimate(12));
+
+        PageResponse<MovieSummaryDTO> p = service.getMovies(null, 4, 10);
+
+        assertThat(p.getTotalElements()).isEqualTo(41);
+        assertThat(p.isHasNext()).isTrue();
+    }
+
+    @Test
+    void getMovies_includeRatings_embedsSummariesFromOneBatchCall() {
+        when(movieRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(movies(2), PageRequest.of(0, 10), false));
+        when(movieMapper.toSummary(any(Movie.class))).thenAnswer(inv -> {
+            Movie m = inv.getArgument(0);
+            return new MovieSummaryDTO(m.getImdbId(), m.getTitle(), null, null, null, null);
+        });
+        RatingSummaryDTO rated = new RatingSummaryDTO(4.5, 2, null);
+        when(ratingService.getSummaries(List.of("tt0", "tt1"))).thenReturn(Map.of("tt0", rated));
+
+        PageResponse<MovieSummaryDTO> p = service.getMovies(null, 1, 10, true);
+
+        assertThat(p.getContent()).extracting(MovieSummaryDTO::rating).containsExactly(rated, null);
+        assertThat(p.getTotalElements()).isEqualTo(2);
+        verify(ratingService, times(1)).getSummaries(anyCollection());
+    }
+
+    @Test
+    void getMovies_withoutIncludeRatings_skipsRatingLookup() {
+        when(movieRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(movies(2), PageRequest.of(0, 10), false));
+
+        service.getMovies(null, 1, 10, false);
+
+        verifyNoInteractions(ratingService);
+    }
+
+    private static List<Movie> movies(int n) {
+        return java.util.stream.IntStream.range(0, n).mapToObj(i -> {
+            Movie m = new Movie();
+            m.setImdbId("tt" + i);
+            m.setTitle("Movie " + i);
+            return m;
+        }).toList();
+    }
 }
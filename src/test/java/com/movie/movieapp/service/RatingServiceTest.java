@@ -4,18 +4,32 @@ import com.movie.movieapp.common.DTO.RatingRequestDTO;
 import com.movie.movieapp.common.DTO.RatingSummaryDTO;
 import com.movie.movieapp.common.exception.customException.NotFoundException;
 import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.entity.MovieRatingStats;
 import com.movie.movieapp.entity.MovieUser;
 import com.movie.movieapp.entity.Rating;
-import com.movie.movieapp.model.RatingMapper;
+import com.movie.movieapp.common.DTO.LeaderboardEntryDTO;
+import com.movie.movieapp.common.DTO.MovieSummaryDTO;
+import com.movie.movieapp.model.MovieMapper;
+import com.movie.movieapp.rating.PendingRating;
+import com.movie.movieapp.rating.RatingChangedEvent;
+import com.movie.movieapp.rating.RatingLeaderboard;
+import com.movie.movieapp.rating.RatingWriteBuffer;
+import com.movie.movieapp.repository.MovieRatingStatsRepository;
 import com.movie.movieapp.repository.MovieRepository;
 import com.movie.movieapp.repository.RatingRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -27,7 +41,15 @@ class RatingServiceTest {
     @Mock
     private RatingRepository ratingRepository;
     @Mock
-    private RatingMapper ratingMapper;
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+    @Mock
+    private RatingWriteBuffer ratingWriteBuffer;
+    @Mock
+    private RatingLeaderboard ratingLeaderboard;
+    @Mock
+    private MovieMapper movieMapper;
+    @Mock
+    private ApplicationEventPublisher events;
 
     @InjectMocks
     private RatingService service;
@@ -38,6 +60,7 @@ class RatingServiceTest {
     @BeforeEach
     void setUp() {
         movie = new Movie();
+        movie.setId(7L);
         movie.setImdbId("tt123");
 
         user = new MovieUser();
@@ -51,30 +74,232 @@ class RatingServiceTest {
 
     @Test
     void rateMovie_newRating_createsAndReturnsSummary() {
-        when(movieRepository.findByImdbId("tt123")).thenReturn(movie);
-        when(ratingRepository.findByUserIdAndMovieImdbId(10L, "tt123")).thenReturn(null);
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingRepository.upsert(10L, 7L, 5)).thenReturn(upserted(5, null));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(14, 3)));
+
+        RatingSummaryDTO result = service.rateMovie("tt123", new RatingRequestDTO(5));
+
+        assertThat(result.average()).isEqualTo(4.7);
+        assertThat(result.count()).isEqualTo(3);
+        assertThat(result.myRating()).isEqualTo(5);
+        verify(movieRatingStatsRepository).applyDelta(7L, 5, 1);
+        verify(events).publishEvent(new RatingChangedEvent(7L, 5, 1, 1));
+        verify(ratingRepository, never()).findByUserIdAndMovieId(anyLong(), anyLong());
+    }
+
+    @Test
+    void rateMovie_existingRating_appliesScoreDifferenceOnly() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingRepository.upsert(10L, 7L, 4)).thenReturn(upserted(4, 2));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(8, 2)));
+
+        RatingSummaryDTO result = service.rateMovie("tt123", new RatingRequestDTO(4));
+
+        verify(movieRatingStatsRepository).applyDelta(7L, 2, 0);
+        assertThat(result.average()).isEqualTo(4.0);
+        assertThat(result.myRating()).isEqualTo(4);
+    }
 
-        RatingRequestDTO request = new RatingRequestDTO(5);
-        Rating newRating = new Rating();
-        newRating.setScore(5);
-        when(ratingMapper.fromRequest(request)).thenReturn(newRating);
+    @Test
+    void rateMovie_lostInsertRace_retriesAsUpdate() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingRepository.upsert(10L, 7L, 3)).thenReturn(upserted(null, null), upserted(3, 5));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.empty());
 
-        when(ratingRepository.save(any(Rating.class))).thenAnswer(inv -> inv.getArgument(0));
+        service.rateMovie("tt123", new RatingRequestDTO(3));
 
-        when(ratingRepository.averageForMovie("tt123")).thenReturn(4.7);
-        when(ratingRepository.countForMovie("tt123")).thenReturn(3L);
+        verify(ratingRepository, times(2)).upsert(10L, 7L, 3);
+        verify(movieRatingStatsRepository).applyDelta(7L, -2, 0);
+    }
+
+    @Test
+    void deleteMyRating_removesScoreFromAggregates() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingRepository.deleteReturningScore(10L, 7L)).thenReturn(3);
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.empty());
 
-        RatingSummaryDTO result = service.rateMovie("tt123", request);
+        RatingSummaryDTO result = service.deleteMyRating("tt123");
 
+        verify(movieRatingStatsRepository).applyDelta(7L, -3, -1);
+        verify(events).publishEvent(new RatingChangedEvent(7L, -3, -1, 0));
+        assertThat(result.average()).isZero();
+        assertThat(result.count()).isZero();
+    }
+
+    @Test
+    void deleteMyRating_nothingToDelete_leavesAggregates() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingRepository.deleteReturningScore(10L, 7L)).thenReturn(null);
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.empty());
+
+        service.deleteMyRating("tt123");
+
+        verify(movieRatingStatsRepository, never()).applyDelta(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void getMovieSummary_readsStatsByPrimaryKeyOnly() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(9_000_001, 2_000_000)));
+
+        RatingSummaryDTO result = service.getMovieSummary("tt123");
+
+        assertThat(result.average()).isEqualTo(4.5);
+        assertThat(result.count()).isEqualTo(2_000_000);
+        verifyNoInteractions(ratingRepository);
+    }
+
+    @Test
+    void rateMovie_writeBehind_queuesAndReturnsSummaryWithOwnWrite() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingWriteBuffer.offer(PendingRating.upsert(10L, 7L, 4))).thenReturn(true);
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(10, 2)));
+
+        RatingSummaryDTO result = service.rateMovie("tt123", new RatingRequestDTO(4));
+
+        assertThat(result.myRating()).isEqualTo(4);
         assertThat(result.average()).isEqualTo(4.7);
         assertThat(result.count()).isEqualTo(3);
-        assertThat(result.myRating()).isEqualTo(5);
+        verify(ratingRepository, never()).upsert(anyLong(), anyLong(), anyInt());
+        verify(movieRatingStatsRepository, never()).applyDelta(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void rateMovie_writeBehind_rescore_replacesCommittedScoreInSummary() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingWriteBuffer.offer(PendingRating.upsert(10L, 7L, 4))).thenReturn(true);
+        when(ratingRepository.findByUserIdAndMovieId(10L, 7L)).thenReturn(rating(2));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(10, 2)));
+
+        RatingSummaryDTO result = service.rateMovie("tt123", new RatingRequestDTO(4));
+
+        assertThat(result.average()).isEqualTo(6.0);
+        assertThat(result.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteMyRating_writeBehind_leavesOwnScoreOutOfSummary() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingWriteBuffer.offer(PendingRating.delete(10L, 7L))).thenReturn(true);
+        when(ratingRepository.findByUserIdAndMovieId(10L, 7L)).thenReturn(rating(4));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(10, 2)));
+
+        RatingSummaryDTO result = service.deleteMyRating("tt123");
+
+        assertThat(result.myRating()).isNull();
+        assertThat(result.average()).isEqualTo(6.0);
+        assertThat(result.count()).isEqualTo(1);
+        verify(ratingRepository, never()).deleteReturningScore(anyLong(), anyLong());
+    }
+
+    @Test
+    void getMyRating_seesQueuedWriteBeforeFlush_inAggregatesToo() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingWriteBuffer.pending(10L, 7L)).thenReturn(Optional.of(PendingRating.upsert(10L, 7L, 2)));
+        when(ratingRepository.findByUserIdAndMovieId(10L, 7L)).thenReturn(rating(4));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(10, 2)));
+
+        RatingSummaryDTO result = service.getMyRating("tt123");
+
+        assertThat(result.myRating()).isEqualTo(2);
+        assertThat(result.average()).isEqualTo(4.0);
+        assertThat(result.count()).isEqualTo(2);
+    }
+
+    @Test
+    void getMyRating_queuedDelete_leavesOwnScoreOut() {
+        when(movieRepository.findIdByImdbId("tt123")).thenReturn(7L);
+        when(ratingWriteBuffer.pending(10L, 7L)).thenReturn(Optional.of(PendingRating.delete(10L, 7L)));
+        when(ratingRepository.findByUserIdAndMovieId(10L, 7L)).thenReturn(rating(4));
+        when(movieRatingStatsRepository.findById(7L)).thenReturn(Optional.of(stats(10, 2)));
+
+        RatingSummaryDTO result = service.getMyRating("tt123");
+
+        assertThat(result.myRating()).isNull();
+        assertThat(result.average()).isEqualTo(6.0);
+        assertThat(result.count()).isEqualTo(1);
+    }
+
+    @Test
+    void getSummaries_oneQueryForAllIds_inRequestOrder_withQueuedOwnRatings() {
+        when(movieRatingStatsRepository.findSummaries(Set.of("tt1", "tt2", "tt3"), 10L)).thenReturn(List.of(
+                row(2L, "tt2", null, null, null),
+                row(3L, "tt3", 12L, 3L, 4),
+                row(1L, "tt1", 9L, 2L, 5)));
+        when(ratingWriteBuffer.pending(10L, 2L)).thenReturn(Optional.of(PendingRating.upsert(10L, 2L, 3)));
+        when(ratingWriteBuffer.pending(10L, 3L)).thenReturn(Optional.of(PendingRating.delete(10L, 3L)));
+
+        Map<String, RatingSummaryDTO> result = service.getSummaries(List.of(" tt1", "tt2", "tt3", "tt1"));
+
+        // queued writes count in the aggregates too: tt2 gains a first rating, tt3 loses the committed 4
+        assertThat(result).containsExactly(
+                entry("tt1", new RatingSummaryDTO(4.5, 2, 5)),
+                entry("tt2", new RatingSummaryDTO(3.0, 1, 3)),
+                entry("tt3", new RatingSummaryDTO(4.0, 2, null)));
+        verify(movieRatingStatsRepository, times(1)).findSummaries(anyCollection(), anyLong());
+        verifyNoInteractions(movieRepository, ratingRepository);
+    }
+
+    @Test
+    void getSummaries_tooManyIds_rejected() {
+        List<String> ids = java.util.stream.IntStream.range(0, 101).mapToObj(i -> "tt" + i).toList();
+        assertThatThrownBy(() -> service.getSummaries(ids)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getLeaderboard_joinsRankedIdsWithMovies_andForgetsDeletedOnes() {
+        when(ratingLeaderboard.top(RatingLeaderboard.Board.TOP_RATED, 3)).thenReturn(List.of(
+                new RatingLeaderboard.Entry(7L, 45, 10, 2),
+                new RatingLeaderboard.Entry(8L, 5, 1, 0)));
+        when(movieRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(movie));
+        MovieSummaryDTO summary = new MovieSummaryDTO("tt123", "Heat", "1995", "MOVIE", null, null);
+        when(movieMapper.toSummary(movie)).thenReturn(summary);
+
+        List<LeaderboardEntryDTO> board = service.getLeaderboard(RatingLeaderboard.Board.TOP_RATED, 3);
+
+        assertThat(board).containsExactly(new LeaderboardEntryDTO(1, summary, 4.5, 10, 2));
+        verify(ratingLeaderboard).remove(List.of(8L));
     }
 
     @Test
     void rateMovie_movieNotFound_throws() {
-        when(movieRepository.findByImdbId("tt404")).thenReturn(null);
+        when(movieRepository.findIdByImdbId("tt404")).thenReturn(null);
         assertThatThrownBy(() -> service.rateMovie("tt404", new RatingRequestDTO(3)))
                 .isInstanceOf(NotFoundException.class);
     }
+
+    private static Rating rating(int score) {
+        Rating rating = new Rating();
+        rating.setScore(score);
+        return rating;
+    }
+
+    private MovieRatingStats stats(long sum, long count) {
+        return new MovieRatingStats(7L, movie, sum, count);
+    }
+
+    private static MovieRatingStatsRepository.SummaryRow row(Long movieId, String imdbId, Long sum, Long count, Integer mine) {
+        return new MovieRatingStatsRepository.SummaryRow() {
+            public Long getMovieId() { return movieId; }
+            public String getImdbId() { return imdbId; }
+            public Long getRatingSum() { return sum; }
+            public Long getRatingCount() { return count; }
+            public Integer getMyScore() { return mine; }
+        };
+    }
+
+    private static RatingRepository.Upserted upserted(Integer score, Integer previous) {
+        return new RatingRepository.Upserted() {
+            @Override
+            public Integer getScore() {
+                return score;
+            }
+
+            @Override
+            public Integer getPrevious() {
+                return previous;
+            }
+        };
+    }
 }
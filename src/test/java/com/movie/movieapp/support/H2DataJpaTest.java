@@ -0,0 +1,18 @@
+package com.movie.movieapp.support;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.lang.annotation.*;
+
+/**
+ * {@link DataJpaTest} on the embedded H2 database, with the H2 dialect and quoting for column names
+ * that are keywords there.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"})
+public @interface H2DataJpaTest {
+}
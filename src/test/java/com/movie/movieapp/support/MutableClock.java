@@ -0,0 +1,39 @@
+package com.movie.movieapp.support;
+
+import java.time.*;
+
+/** A clock that only moves when told to; UTC unless asked for another zone. */
+public final class MutableClock extends Clock {
+
+    private Instant now;
+    private final ZoneId zone;
+
+    public MutableClock(Instant now) {
+        this(now, ZoneOffset.UTC);
+    }
+
+    public MutableClock(Instant now, ZoneId zone) {
+        this.now = now;
+        this.zone = zone;
+    }
+
+    public void advance(Duration d) {
+        now = now.plus(d);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /** A copy at the current instant; advancing one does not move the other. */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new MutableClock(now, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
@@ -0,0 +1,32 @@
+package com.movie.movieapp.support;
+
+import com.movie.movieapp.auth.model.Role;
+import com.movie.movieapp.entity.Movie;
+import com.movie.movieapp.entity.MovieUser;
+import com.movie.movieapp.model.MovieType;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/** Persisted users and movies for repository tests. */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    /** A USER with email {@code <name>@gmail.com}. */
+    public static MovieUser user(TestEntityManager em, String name) {
+        MovieUser user = new MovieUser();
+        user.setEmail(name + "@gmail.com");
+        user.setUsername(name);
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        return em.persist(user);
+    }
+
+    public static Movie movie(TestEntityManager em, String imdbId) {
+        Movie m = new Movie();
+        m.setImdbId(imdbId);
+        m.setTitle("Movie " + imdbId);
+        m.setType(MovieType.MOVIE);
+        return em.persist(m);
+    }
+}